@@ -48,3 +48,50 @@ def run_inference(img0, model, class_names, imgsz=1280, font_path="app/font/font
         img_result = cv2.cvtColor(np.array(img_pil), cv2.COLOR_RGB2BGR)
 
     return img_result, results
+
+
+def run_inference_batch(imgs, model, class_names, imgsz=1280):
+    """
+    같은 모델을 쓰는 여러 장을 한 번의 forward 로 추론합니다. (시각화 없음)
+    run_inference 와 같은 letterbox(auto=True, stride 배수까지만 채움)로 줄인 뒤,
+    배치로 쌓기 위해 가장 큰 이미지 크기에 맞춰 아래 / 오른쪽만 더 채웁니다.
+    크기가 모두 같으면(보통 같은 방향으로 찍은 그림 4장) 입력이 한 장씩 보낼 때와 똑같고,
+    다르면 더 채운 회색 영역만 다릅니다. 박스는 이미지별 ratio / pad 로 되돌립니다.
+    반환값은 이미지별 run_inference 의 results 리스트입니다.
+    """
+    stride = model.stride
+    imgsz = check_img_size(imgsz, s=stride)
+
+    letterboxed = [letterbox(img0, imgsz, stride=stride, auto=True) for img0 in imgs]
+    height = max(im.shape[0] for im, _, _ in letterboxed)
+    width = max(im.shape[1] for im, _, _ in letterboxed)
+
+    batch = []
+    ratio_pads = []
+    for im, ratio, pad in letterboxed:
+        # 왼쪽 / 위 여백은 그대로 두어야 pad 로 박스를 되돌릴 수 있다
+        im = cv2.copyMakeBorder(im, 0, height - im.shape[0], 0, width - im.shape[1],
+                                cv2.BORDER_CONSTANT, value=(114, 114, 114))
+        im = im.transpose((2, 0, 1))[::-1]
+        batch.append(np.ascontiguousarray(im))
+        ratio_pads.append((ratio, pad))
+    im = torch.from_numpy(np.stack(batch)).float() / 255.0
+
+    with torch.no_grad():
+        preds = model(im, augment=False, visualize=False)
+    preds = non_max_suppression(preds, conf_thres=0.25, iou_thres=0.45, max_det=1000)
+
+    all_results = []
+    for img0, pred, ratio_pad in zip(imgs, preds, ratio_pads):
+        pred[:, :4] = scale_boxes(im.shape[2:], pred[:, :4], img0.shape, ratio_pad=ratio_pad).round()
+        results = []
+        for *xyxy, conf, cls in pred:
+            cid = int(cls.item())
+            name = class_names[cid] if cid < len(class_names) else f'class_{cid}'
+            results.append({
+                "class": name,
+                "bbox": [int(x.item()) for x in xyxy],
+                "confidence": round(conf.item(), 4)
+            })
+        all_results.append(results)
+    return all_results
@@ -1,10 +1,13 @@
 from fastapi import APIRouter, File, UploadFile, Form
 from fastapi.responses import JSONResponse, StreamingResponse
-from app.core.yolo_predict import run_inference
+from typing import List
+from app.core.yolo_predict import run_inference, run_inference_batch
+from app.schemas.schema import BatchPredictRequest, BatchPredictResult
 from app.utils.filtering import nms_filter
 from app.utils.calcSize import calc
 from app.utils.toString import toString
 import numpy as np
+import asyncio
 import cv2
 import io
 
@@ -40,6 +43,48 @@ async def predict_json_s3(url, category):
     stringVal = toString(calc_result, category)
     return stringVal
 
+def select_model(category):
+    # 같은 모델을 쓰는 그림끼리 묶기 위한 key 와 모델, 클래스 이름
+    if category in ("PERSON1", "PERSON2"):
+        return "person", personModel, class_names_person
+    elif category == "TREE":
+        return "tree", treeModel, class_names_tree
+    else:
+        return "house", houseModel, class_names_house
+
+
+#이미지 여러 장을 s3로 한 번에 받을 때 (한 DrawingList 의 4장)
+@router.post("/batch_s3", response_model=List[BatchPredictResult])
+async def predict_batch_s3(request_body: BatchPredictRequest):
+    items = request_body.items
+    # 다운로드는 동시에, 추론은 같은 모델(사람1, 사람2)끼리 한 번의 forward 로 묶는다
+    images = await asyncio.gather(*(asyncio.to_thread(s3imageLoader, item.url) for item in items),
+                                  return_exceptions=True)
+
+    responses = [None] * len(items)
+    groups = {}
+    for i, item in enumerate(items):
+        if isinstance(images[i], Exception):
+            responses[i] = BatchPredictResult(category=item.category, error=str(images[i]))
+            continue
+        key, model, class_names = select_model(item.category)
+        groups.setdefault(key, (model, class_names, []))[2].append(i)
+
+    for model, class_names, indexes in groups.values():
+        try:
+            batch_results = await asyncio.to_thread(
+                run_inference_batch, [images[i] for i in indexes], model, class_names)
+        except Exception as e:
+            for i in indexes:
+                responses[i] = BatchPredictResult(category=items[i].category, error=str(e))
+            continue
+        for i, results in zip(indexes, batch_results):
+            orig_height, orig_width = images[i].shape[:2]
+            calc_result = calc(results, orig_width, orig_height)
+            responses[i] = BatchPredictResult(category=items[i].category,
+                                              result=toString(calc_result, items[i].category))
+    return responses
+
 ###########################################################################
 
 #이미지 업로드로 받을 때
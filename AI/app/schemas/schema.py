@@ -1,3 +1,5 @@
+from typing import List, Optional
+
 from pydantic import BaseModel
 
 # 분석 요청
@@ -15,3 +17,26 @@ class AnalysisResponse(BaseModel):
     '''
     answer: str
 
+
+
+# 배치 객체탐지 요청 (한 DrawingList 의 그림 여러 장)
+class BatchPredictItem(BaseModel):
+    '''
+    url : 그림 URL
+    category : HOME, TREE, PERSON1, PERSON2
+    '''
+    url: str
+    category: str
+
+class BatchPredictRequest(BaseModel):
+    items: List[BatchPredictItem]
+
+class BatchPredictResult(BaseModel):
+    '''
+    요청 items 와 같은 순서로 반환합니다.
+    result : /predict/json_s3 와 같은 분석 문자열 (실패 시 None)
+    error : 해당 그림 처리 중 발생한 에러 (성공 시 None)
+    '''
+    category: str
+    result: Optional[str] = None
+    error: Optional[str] = None
@@ -0,0 +1,57 @@
+package com.example.tetonam.user.token;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Key;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 하는 access token 검증 비용
+ * - cached   : 지금의 JwtTokenProvider.verifyClaims (공유 JwtParser + 검증한 토큰 캐시)
+ * - uncached : 예전 방식 (호출마다 JwtParser 를 만들고 서명 검증 + JSON 파싱)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtTokenProviderBenchmark {
+    private static final String SECRET = "dGVzdC1qd3Qtc2VjcmV0LXRoaXMtaXMtbG9uZy1lbm91Z2g=";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private Key key;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 10000, 300);
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        accessToken = jwtTokenProvider.generateToken(new UsernamePasswordAuthenticationToken("student@naver.com", "",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")))).getAccessToken();
+    }
+
+    @Benchmark
+    public Claims cached() {
+        return jwtTokenProvider.verifyClaims(accessToken);
+    }
+
+    @Benchmark
+    public Claims uncached() {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(accessToken)
+                .getBody();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.tetonam.util.aop;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @DistributedLock 키 평가 비용
+ * - cached   : 지금의 CustomSpringELParser (key 문자열 파싱 캐시 + MIXED 컴파일 + SimpleEvaluationContext)
+ * - uncached : 예전 방식 (호출마다 파라미터 이름 조회 + 파서 생성 + 파싱 + StandardEvaluationContext)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomSpringELParserBenchmark {
+    private static final String KEY = "'counselor:' + #counselorId + ':time:' + #time";
+
+    private Method method;
+    private Object[] args;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        method = CustomSpringELParserBenchmark.class.getDeclaredMethod("reserve", Long.class, LocalDateTime.class);
+        args = new Object[]{3L, LocalDateTime.of(2025, 8, 1, 15, 0)};
+    }
+
+    @Benchmark
+    public Object cached() {
+        return CustomSpringELParser.getDynamicValue(method, args, KEY);
+    }
+
+    @Benchmark
+    public Object uncached() {
+        String[] parameterNames = new DefaultParameterNameDiscoverer().getParameterNames(method);
+        ExpressionParser parser = new SpelExpressionParser();
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        for (int i = 0; i < parameterNames.length; i++) {
+            context.setVariable(parameterNames[i], args[i]);
+        }
+        return parser.parseExpression(KEY).getValue(context, Object.class);
+    }
+
+    // 락 키를 만드는 예약 메서드 모양만 빌린다
+    @SuppressWarnings("unused")
+    private void reserve(Long counselorId, LocalDateTime time) {
+    }
+}
@@ -7,7 +7,7 @@ import com.example.tetonam.community.repository.CommentRepository;
 import com.example.tetonam.community.service.CommentService;
 import com.example.tetonam.community.service.CommunityService;
 import com.example.tetonam.response.ApiResponse;
-import com.example.tetonam.user.token.JwtTokenProvider;
+import com.example.tetonam.user.token.AuthEmail;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,7 +22,6 @@ import java.util.List;
 @RequestMapping("/community/{community_id}/comments")
 public class CommentController {
     private final CommentService commentService;
-    private final JwtTokenProvider jwtTokenProvider;
 
     @GetMapping
     @Operation(summary = "게시글 내 댓글 전체 조회", description = "정해진 한건의 게시글의 댓글을 전부 가져옵니다")
@@ -34,27 +33,21 @@ public class CommentController {
     //글 작성
     @PostMapping
     @Operation(summary = "댓글 작성 API", description = "작성한 댓글을 등록합니다")
-    public ResponseEntity<?> createComment(@RequestBody String commentBody, @RequestHeader("Authorization") String token, @PathVariable Long community_id) {
-        String jwt = token.substring(7);
-        String email = jwtTokenProvider.getEmail(jwt);
+    public ResponseEntity<?> createComment(@RequestBody String commentBody, @AuthEmail String email, @PathVariable Long community_id) {
         Comment comment = commentService.writeComment(community_id, commentBody, email);
         return ResponseEntity.ok(ApiResponse.onSuccess(CommentWriteDto.toDto(comment)));
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "댓글 삭제 API", description = "등록된 댓글을 삭제합니다")
-    public ResponseEntity<Void> deletePost(@PathVariable Long community_id, @PathVariable Long id, @RequestHeader("Authorization") String token){
-        String jwt = token.substring(7);
-        String email = jwtTokenProvider.getEmail(jwt);
+    public ResponseEntity<Void> deletePost(@PathVariable Long community_id, @PathVariable Long id, @AuthEmail String email){
         commentService.deleteComment(id, email);
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "댓글 수정 API", description = "등록된 댓글을 수정합니다")
-    public ResponseEntity<CommentWriteDto> updatePost(@PathVariable Long community_id, @PathVariable Long id, @RequestBody CommentWriteDto updatedComment, @RequestHeader("Authorization") String token){
-        String jwt = token.substring(7);
-        String email = jwtTokenProvider.getEmail(jwt);
+    public ResponseEntity<CommentWriteDto> updatePost(@PathVariable Long community_id, @PathVariable Long id, @RequestBody CommentWriteDto updatedComment, @AuthEmail String email){
             Comment comment = commentService.updateComment(id, community_id, email, updatedComment);
         return ResponseEntity.ok(CommentWriteDto.toDto(comment));
     }
@@ -7,7 +7,7 @@ import com.example.tetonam.community.dto.PostUpdateDto;
 import com.example.tetonam.community.dto.PostWriteDto;
 import com.example.tetonam.community.service.CommunityService;
 import com.example.tetonam.response.ApiResponse;
-import com.example.tetonam.user.token.JwtTokenProvider;
+import com.example.tetonam.user.token.AuthEmail;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +23,6 @@ import java.util.List;
 @RequestMapping("/community")
 public class CommunityController {
     private final CommunityService communityService;
-    private final JwtTokenProvider jwtTokenProvider;
 
     /**
      * 게시글 단건 조회
@@ -31,9 +30,7 @@ public class CommunityController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "게시글 단건 조회", description = "정해진 한건의 게시글을 가져옵니다")
-    public ResponseEntity<?> getPost(@PathVariable Long id, @RequestHeader("Authorization") String token) {
-        String jwt = token.substring(7);
-        String email = jwtTokenProvider.getEmail(jwt);
+    public ResponseEntity<?> getPost(@PathVariable Long id, @AuthEmail String email) {
         PostListDto post = communityService.getPostById(id, email);
         return ResponseEntity.ok().body(ApiResponse.onSuccess(post));
     }
@@ -41,26 +38,20 @@ public class CommunityController {
     //글 작성
     @PostMapping
     @Operation(summary = "글 작성 API", description = "작성한 글을 등록합니다")
-    public ResponseEntity<?> createPost(@RequestBody PostWriteDto dto, @RequestHeader("Authorization") String token) {
-        String jwt = token.substring(7);
-        String email = jwtTokenProvider.getEmail(jwt);
+    public ResponseEntity<?> createPost(@RequestBody PostWriteDto dto, @AuthEmail String email) {
         return ResponseEntity.ok().body(ApiResponse.onSuccess(communityService.writePost(dto, email)));
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "글 삭제 API", description = "등록된 글을 삭제합니다")
-    public ResponseEntity<Void> deletePost(@PathVariable Long id, @RequestHeader("Authorization") String token){
-        String jwt = token.substring(7);
-        String email = jwtTokenProvider.getEmail(jwt);
+    public ResponseEntity<Void> deletePost(@PathVariable Long id, @AuthEmail String email){
         communityService.deletePost(id, email);
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "글 수정 API", description = "등록된 글을 수정합니다")
-    public ResponseEntity<?> updatePost(@PathVariable Long id, @RequestBody PostUpdateDto updatedCommunity, @RequestHeader("Authorization") String token){
-        String jwt = token.substring(7);
-        String email = jwtTokenProvider.getEmail(jwt);
+    public ResponseEntity<?> updatePost(@PathVariable Long id, @RequestBody PostUpdateDto updatedCommunity, @AuthEmail String email){
         return ResponseEntity.ok().body(ApiResponse.onSuccess(communityService.updatePost(id, updatedCommunity, email)));
     }
 
@@ -4,13 +4,23 @@ import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Slf4j
 @Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
 public class AwsS3Config {
     @Value("${cloud.aws.credentials.access-key}") // application.yml 에 명시한 내용
     private String accessKey;
@@ -20,6 +30,12 @@ public class AwsS3Config {
  
     @Value("${cloud.aws.region.static}")
     private String region;
+
+    @Value("${cloud.aws.s3.upload-threads:8}")
+    private int uploadThreads;
+
+    @Value("${cloud.aws.s3.multipart-threshold-mb:8}")
+    private long multipartThresholdMb;
  
     @Bean
     public AmazonS3Client amazonS3Client() {
@@ -29,4 +45,28 @@ public class AwsS3Config {
                 .withCredentials(new AWSStaticCredentialsProvider(awsCreds))
                 .build();
     }
-}
\ No newline at end of file
+
+    // S3 업로드 전용 스레드풀 (스레드 수로 동시 업로드를 제한한다)
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService s3UploadExecutor() {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(uploadThreads, uploadThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "s3-upload-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // 작은 파일은 한 번에, multipart-threshold 이상은 파트로 나눠 병렬 업로드
+    @Bean
+    public TransferManager transferManager(AmazonS3Client amazonS3Client, ExecutorService s3UploadExecutor) {
+        return TransferManagerBuilder.standard()
+                .withS3Client(amazonS3Client)
+                .withExecutorFactory(() -> s3UploadExecutor)
+                .withShutDownThreadPools(false)
+                .withMultipartUploadThreshold(multipartThresholdMb * 1024 * 1024)
+                .build();
+    }
+}
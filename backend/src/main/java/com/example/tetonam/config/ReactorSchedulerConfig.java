@@ -0,0 +1,23 @@
+package com.example.tetonam.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebClient 응답을 받은 뒤의 JPA / Redis 같은 블로킹 작업을 reactor-netty event loop 밖에서 돌리기 위한 스케줄러
+ * event loop 가 막히면 같은 JVM 의 다른 WebClient 호출(AI 서버, 카카오)까지 모두 멈추기 때문에
+ * 응답 처리 콜백 앞에 publishOn(persistenceScheduler) 를 붙인다.
+ * 스레드 수는 DB 커넥션 풀보다 크지 않게, 대기열이 가득 차면 거절한다.
+ */
+@Configuration
+public class ReactorSchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler persistenceScheduler(@Value("${persistence-scheduler.threads:8}") int threads,
+                                          @Value("${persistence-scheduler.queue-size:1000}") int queueSize) {
+        return Schedulers.newBoundedElastic(threads, queueSize, "persistence");
+    }
+}
@@ -1,17 +1,24 @@
 package com.example.tetonam.config;
 
+import com.example.tetonam.user.token.AuthEmail;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class SwaggerConfig {
 
+    // @AuthEmail 파라미터는 요청 파라미터가 아니므로 문서에서 뺀다 (인증은 JWT TOKEN 스킴으로 표시)
+    static {
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(AuthEmail.class);
+    }
+
     @Bean
     public OpenAPI testAPI() {
         Info info = new Info()
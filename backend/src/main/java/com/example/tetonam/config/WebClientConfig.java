@@ -2,27 +2,87 @@ package com.example.tetonam.config;
 
 
 import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 
 
+/**
+ * 외부 호출(AI 서버, 카카오)이 모두 함께 쓰는 WebClient / HttpClient / 커넥션 풀
+ * 풀은 호스트별로 따로 잡히므로 max-connections 는 호스트 하나 기준이다.
+ * 풀 / 요청 메트릭은 Micrometer(reactor.netty.*) 로 나간다.
+ */
 @Configuration
 public class WebClientConfig {
 
-    DefaultUriBuilderFactory factory = new DefaultUriBuilderFactory();
+    @Value("${webclient.max-connections:100}")
+    private int maxConnections;
 
-    HttpClient httpClient = HttpClient.create()
-            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000); // 10초
+    @Value("${webclient.pending-acquire-max-count:500}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${webclient.pending-acquire-timeout-ms:5000}")
+    private long pendingAcquireTimeoutMillis;
+
+    // 상대 서버의 keep-alive timeout 보다 짧게 잡아서 끊긴 커넥션을 재사용하지 않도록
+    @Value("${webclient.max-idle-time-ms:20000}")
+    private long maxIdleTimeMillis;
+
+    @Value("${webclient.max-life-time-ms:300000}")
+    private long maxLifeTimeMillis;
+
+    @Value("${webclient.connect-timeout-ms:10000}")
+    private int connectTimeoutMillis;
+
+    // ai.dispatch.timeout-ms(LLM 응답 대기)보다 길게
+    @Value("${webclient.response-timeout-ms:130000}")
+    private long responseTimeoutMillis;
+
+    // HTTPS 상대와 ALPN 으로 HTTP/2 를 협상한다. (AI 서버도 https 로 붙는 환경에서만 켠다)
+    @Value("${webclient.http2:false}")
+    private boolean http2;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider() {
+        return ConnectionProvider.builder("http-pool")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMillis))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMillis))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
 
     @Bean
-    public WebClient webClient() {
+    public HttpClient httpClient(ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis))
+                // 쿼리스트링(S3 URL 등)이 태그에 들어가지 않도록 경로만 남긴다
+                .metrics(true, uri -> {
+                    int query = uri.indexOf('?');
+                    return query < 0 ? uri : uri.substring(0, query);
+                });
+        if (http2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return httpClient;
+    }
+
+    @Bean
+    public WebClient webClient(HttpClient httpClient) {
+        DefaultUriBuilderFactory factory = new DefaultUriBuilderFactory();
         factory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.VALUES_ONLY);
         return WebClient.builder()
                 .uriBuilderFactory(factory)
@@ -30,14 +90,4 @@ public class WebClientConfig {
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
-
-    @Bean
-    public ConnectionProvider connectionProvider() {
-        return ConnectionProvider.builder("http-pool")
-                .maxConnections(100)
-                .pendingAcquireTimeout(Duration.ofMillis(0))
-                .pendingAcquireMaxCount(-1)
-                .maxIdleTime(Duration.ofMillis(1000L))
-                .build();
-    }
 }
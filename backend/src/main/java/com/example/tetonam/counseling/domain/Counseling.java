@@ -9,19 +9,27 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(uniqueConstraints = {
+        // 같은 상담사의 같은 시간 예약은 DB가 최종적으로 막는다 (취소된 예약은 active_slot_time 이 null 이라 제외)
+        @UniqueConstraint(name = Counseling.UK_COUNSELOR_TIME, columnNames = {"counselor_id", "active_slot_time"})
+}, indexes = {
+        // close 스케줄러의 (status, reservation_time) 구간 스캔용
+        @Index(name = "idx_counseling_status_time", columnList = "status, reservation_time")
+})
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Setter
 public class Counseling extends BaseTime {
+    public static final String UK_COUNSELOR_TIME = "uk_counseling_counselor_time";
 
     @Column(name = "counseling_id", updatable = false, unique = true, nullable = false)
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
 
-    @Column(nullable = false)
+    @Column(name = "reservation_time", nullable = false)
     private LocalDateTime reservationTime;
 
     @JoinColumn(name="student_id")
@@ -39,6 +47,17 @@ public class Counseling extends BaseTime {
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    // 취소되지 않은 예약만 reservation_time 을 가진다. 유니크 키를 이 컬럼에 걸어서 취소된 시간은 다시 예약할 수 있다.
+    // (벌크 UPDATE 로 CANCEL 처리할 때는 이 컬럼도 같이 null 로 바꿔야 한다)
+    @Column(name = "active_slot_time")
+    private LocalDateTime activeSlotTime;
+
+    @PrePersist
+    @PreUpdate
+    void syncActiveSlotTime() {
+        activeSlotTime = status == Status.CANCEL ? null : reservationTime;
+    }
+
 
 
 }
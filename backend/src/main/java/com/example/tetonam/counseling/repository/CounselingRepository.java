@@ -3,8 +3,11 @@ package com.example.tetonam.counseling.repository;
 import com.example.tetonam.counseling.domain.Counseling;
 import com.example.tetonam.counseling.domain.enums.Status;
 import com.example.tetonam.user.domain.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -15,10 +18,12 @@ public interface CounselingRepository extends JpaRepository<Counseling,Long> {
 
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END " +
             "FROM Counseling c " +
-            "WHERE c.counselor = :counselor AND c.reservationTime = :time")
+            "WHERE c.counselor = :counselor AND c.reservationTime = :time " +
+            "AND (c.status IS NULL OR c.status <> com.example.tetonam.counseling.domain.enums.Status.CANCEL)")
     boolean existsByCounselorAndCounselingTime(User counselor, LocalDateTime time);
 
-    @Query("SELECT COUNT(c) FROM Counseling c WHERE c.counselor = :counselor AND c.reservationTime = :counselingTime")
+    @Query("SELECT COUNT(c) FROM Counseling c WHERE c.counselor = :counselor AND c.reservationTime = :counselingTime " +
+            "AND (c.status IS NULL OR c.status <> com.example.tetonam.counseling.domain.enums.Status.CANCEL)")
     long countByCounselorAndCounselingTime(User counselor, LocalDateTime counselingTime);
 
     //학생의 상담내역 조회
@@ -44,7 +49,29 @@ public interface CounselingRepository extends JpaRepository<Counseling,Long> {
             "c.reservationTime ASC")
     List<Counseling> findByCounselorOrderByReservationTimeAsc(User student);
 
+    // 상담사 가용 인덱스 워밍용 (상담사ID, 예약시간), 취소된 예약은 slot 을 차지하지 않는다
+    @Query("SELECT c.counselor.id, c.reservationTime FROM Counseling c WHERE c.reservationTime >= :from " +
+            "AND (c.status IS NULL OR c.status <> com.example.tetonam.counseling.domain.enums.Status.CANCEL)")
+    List<Object[]> findReservationSlotsSince(LocalDateTime from);
+
     //시간 지난 예약 close처리
     @Query("SELECT c FROM Counseling c WHERE c.status = :status AND c.reservationTime < :now")
     List<Counseling> findCounselingsToClose(Status status, LocalDateTime now);
+
+    // close 타이머 큐 시딩용 (id, 예약시간)
+    @Query("SELECT c.id, c.reservationTime FROM Counseling c WHERE c.status = :status AND c.reservationTime >= :from")
+    List<Object[]> findCloseScheduleSince(Status status, LocalDateTime from);
+
+    // close 대상 id를 [from, to) 구간에서 청크 단위로 조회
+    @Query("SELECT c.id FROM Counseling c " +
+            "WHERE c.status = :status AND c.reservationTime >= :from AND c.reservationTime < :to " +
+            "ORDER BY c.id")
+    List<Long> findIdsToClose(Status status, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    // 엔티티를 올리지 않고 한번의 UPDATE로 상태 변경 (청크마다 별도 트랜잭션)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Counseling c SET c.status = :status, c.modifiedDate = :now " +
+            "WHERE c.id IN :ids AND c.status = :currentStatus")
+    int updateStatusByIds(Collection<Long> ids, Status currentStatus, Status status, LocalDateTime now);
 }
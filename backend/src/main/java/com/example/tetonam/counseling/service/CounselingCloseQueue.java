@@ -0,0 +1,111 @@
+package com.example.tetonam.counseling.service;
+
+import com.example.tetonam.counseling.domain.enums.Status;
+import com.example.tetonam.counseling.repository.CounselingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 예약별 close 예정시각을 Redis sorted set(score = 예약시간 + 1시간)에 걸어두는 타이머 큐
+ * 예약이 커밋될 때 등록되고, 스케줄러가 짧은 주기로 만기된 것만 꺼내가므로 Counseling 테이블을 스캔하지 않는다.
+ * 꺼내기는 Lua 스크립트 한번(ZRANGEBYSCORE + ZREM)이라 여러 인스턴스가 같은 예약을 중복으로 가져가지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CounselingCloseQueue {
+    private static final String CLOSE_QUEUE_KEY = "COUNSELING:CLOSE:QUEUE";
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List> POP_DUE_SCRIPT = new DefaultRedisScript<>(
+            "local ids = redis.call('zrangebyscore', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+            "if #ids > 0 then redis.call('zrem', KEYS[1], unpack(ids)) end " +
+            "return ids",
+            List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CounselingRepository counselingRepository;
+
+    @Value("${counseling.close.delay-minutes:60}")
+    private long closeDelayMinutes;
+
+    // 큐 도입 전에 잡힌 예약이나 Redis 유실분을 시작할 때 한번 채워 넣는다 (ZADD 라서 중복 등록돼도 무방)
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        LocalDateTime from = LocalDateTime.now().minusMinutes(closeDelayMinutes);
+        List<Object[]> rows = counselingRepository.findCloseScheduleSince(Status.OPEN, from);
+
+        Set<ZSetOperations.TypedTuple<String>> batch = new HashSet<>();
+        for (Object[] row : rows) {
+            batch.add(ZSetOperations.TypedTuple.of(String.valueOf(row[0]), dueScore((LocalDateTime) row[1])));
+            if (batch.size() >= SEED_BATCH_SIZE) {
+                redisTemplate.opsForZSet().add(CLOSE_QUEUE_KEY, batch);
+                batch = new HashSet<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.opsForZSet().add(CLOSE_QUEUE_KEY, batch);
+        }
+        log.info("[CounselingCloseQueue] close 타이머 {} 건 등록", rows.size());
+    }
+
+    // 예약 트랜잭션이 커밋된 뒤에 타이머를 건다
+    public void scheduleAfterCommit(long counselingId, LocalDateTime reservationTime) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(counselingId, reservationTime);
+                }
+            });
+        } else {
+            schedule(counselingId, reservationTime);
+        }
+    }
+
+    /**
+     * 지금 시각까지 만기된 예약 id를 최대 max 건 꺼낸다. (꺼낸 id는 큐에서 제거됨)
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> popDue(int max) {
+        List<String> ids = redisTemplate.execute(POP_DUE_SCRIPT, List.of(CLOSE_QUEUE_KEY),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(max));
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream().map(Long::valueOf).toList();
+    }
+
+    private void schedule(long counselingId, LocalDateTime reservationTime) {
+        try {
+            redisTemplate.opsForZSet().add(CLOSE_QUEUE_KEY, String.valueOf(counselingId), dueScore(reservationTime));
+        } catch (RuntimeException e) {
+            // 타이머 등록에 실패해도 예약은 유지되고, 주기적 sweep 이 대신 close 한다
+            log.warn("[CounselingCloseQueue] close 타이머 등록 실패: counselingId = {}", counselingId, e);
+        }
+    }
+
+    private double dueScore(LocalDateTime reservationTime) {
+        return reservationTime.plusMinutes(closeDelayMinutes)
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+    }
+}
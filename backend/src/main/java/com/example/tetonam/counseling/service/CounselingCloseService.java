@@ -0,0 +1,81 @@
+package com.example.tetonam.counseling.service;
+
+import com.example.tetonam.counseling.domain.enums.Status;
+import com.example.tetonam.counseling.repository.CounselingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 시간 지난 OPEN 예약을 CLOSE 처리
+ * 엔티티를 영속성 컨텍스트에 올려 하나씩 dirty checking 하지 않고
+ * id 청크 단위 UPDATE 로 처리하며, 마지막으로 처리한 기준시각(watermark) 이후 구간만 스캔한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounselingCloseService {
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CounselingRepository counselingRepository;
+
+    @Value("${counseling.close.chunk-size:500}")
+    private int chunkSize;
+
+    // 과거 시간으로 뒤늦게 들어온 예약을 놓치지 않도록 N번에 한번은 처음부터 스캔
+    @Value("${counseling.close.full-sweep-every:6}")
+    private int fullSweepEvery;
+
+    // 이 시각 이전 예약은 이미 close 처리됨 (null 이면 아직 전체 스캔 전)
+    private LocalDateTime watermark;
+    private int runsSinceFullSweep = 0;
+
+    public synchronized int closeExpired(LocalDateTime threshold) {
+        long start = System.currentTimeMillis();
+        boolean fullSweep = watermark == null || runsSinceFullSweep >= fullSweepEvery;
+        LocalDateTime from = fullSweep ? BEGINNING : watermark;
+
+        int closed = 0;
+        int chunks = 0;
+        while (true) {
+            // 처리된 행은 OPEN 이 아니게 되므로 매번 첫 페이지만 읽으면 된다
+            List<Long> ids = counselingRepository.findIdsToClose(Status.OPEN, from, threshold, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            closed += counselingRepository.updateStatusByIds(ids, Status.OPEN, Status.CLOSE, LocalDateTime.now());
+            chunks++;
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+
+        watermark = threshold;
+        runsSinceFullSweep = fullSweep ? 0 : runsSinceFullSweep + 1;
+
+        long elapsed = System.currentTimeMillis() - start;
+        if (closed > 0 || fullSweep) {
+            log.info("[closeCounseling] {} 건 close, chunks = {}, range = [{}, {}), {}ms",
+                    closed, chunks, from, threshold, elapsed);
+        } else {
+            log.debug("[closeCounseling] close 대상 없음, range = [{}, {}), {}ms", from, threshold, elapsed);
+        }
+        return closed;
+    }
+
+    // 타이머 큐에서 만기된 예약만 close (테이블 스캔 없음)
+    public int closeByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        int closed = counselingRepository.updateStatusByIds(ids, Status.OPEN, Status.CLOSE, LocalDateTime.now());
+        log.info("[closeCounseling] 타이머 만기 {} 건 중 {} 건 close, {}ms", ids.size(), closed, System.currentTimeMillis() - start);
+        return closed;
+    }
+}
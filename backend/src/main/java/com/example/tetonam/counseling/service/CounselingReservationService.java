@@ -0,0 +1,111 @@
+package com.example.tetonam.counseling.service;
+
+import com.example.tetonam.counseling.domain.Counseling;
+import com.example.tetonam.counseling.dto.CounselingReserveRequestDto;
+import com.example.tetonam.counseling.service.enums.ReservationMode;
+import com.example.tetonam.exception.handler.CounselingHandler;
+import com.example.tetonam.exception.handler.UserHandler;
+import com.example.tetonam.image.domain.DrawingList;
+import com.example.tetonam.image.repository.DrawingListRepository;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import com.example.tetonam.user.domain.User;
+import com.example.tetonam.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 상담 예약 진입점
+ * counseling.reservation.mode 설정으로 배포마다 예약 방식을 고른다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounselingReservationService {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private static final int MYSQL_DUPLICATE_KEY = 1062;
+
+    private final CounselingService counselingService;
+    private final CounselingSlotClaim counselingSlotClaim;
+    private final UserRepository userRepository;
+    private final DrawingListRepository drawingListRepository;
+
+    @Value("${counseling.reservation.mode:LOCK}")
+    private ReservationMode reservationMode;
+
+    public String reserve(String email, CounselingReserveRequestDto dto) {
+        // 락 키를 상담사ID + 예약시간(분단위로 포맷팅)으로 생성
+        String slotKey = "counselor:" + dto.getCounselorId() + ":time:" + dto.getTime().format(FORMATTER);
+
+        try {
+            return switch (reservationMode) {
+                case REDIS -> reserveWithRedisClaim(email, dto, slotKey);
+                case INSERT -> reserveWithInsert(email, dto);
+                default -> counselingService.createCounselingWithLock(email, dto, slotKey);
+            };
+        } catch (DataIntegrityViolationException e) {
+            if (isSlotConflict(e)) {
+                throw new CounselingHandler(ErrorStatus.ALREADY_RESERVED);
+            }
+            throw e;
+        }
+    }
+
+    // 락도 존재 체크도 없이 INSERT 한번, 동시 요청 중 하나만 유니크 제약을 통과한다
+    private String reserveWithInsert(String email, CounselingReserveRequestDto dto) {
+        User student = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
+        User counselor = userRepository.findById(dto.getCounselorId())
+                .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
+        DrawingList drawingList = drawingListRepository.findFirstByUserOrderByCreatedDateDesc(student)
+                .orElseThrow(() -> new CounselingHandler(ErrorStatus.STUDENT_HAVE_NOT_IMAGE));
+
+        return counselingService.saveCounseling(student, counselor, dto, drawingList);
+    }
+
+    // Redis 선점에 성공한 요청만 DB에 저장한다 (락을 잡은 채로 DB를 왕복하지 않음)
+    private String reserveWithRedisClaim(String email, CounselingReserveRequestDto dto, String slotKey) {
+        User student = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
+        User counselor = userRepository.findById(dto.getCounselorId())
+                .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
+        DrawingList drawingList = drawingListRepository.findFirstByUserOrderByCreatedDateDesc(student)
+                .orElseThrow(() -> new CounselingHandler(ErrorStatus.STUDENT_HAVE_NOT_IMAGE));
+
+        String token = counselingSlotClaim.claim(slotKey, dto.getTime());
+        if (token == null) {
+            throw new CounselingHandler(ErrorStatus.ALREADY_RESERVED);
+        }
+
+        try {
+            // 선점 이전(락 방식 시절)에 저장된 예약이 있을 수 있으므로 존재 체크는 승자 한명만 수행한다
+            return counselingService.createCounselingInternal(slotKey, student, counselor, dto, drawingList);
+        } catch (RuntimeException e) {
+            counselingSlotClaim.release(slotKey, token);
+            log.warn("[reserve] 예약 저장 실패로 slot 선점 해제: key = {}", slotKey);
+            throw e;
+        }
+    }
+
+    // 다른 제약(not null, FK 등) 위반까지 중복 예약으로 바꾸지 않도록 제약 이름으로 구분한다
+    private boolean isSlotConflict(DataIntegrityViolationException e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase().contains(Counseling.UK_COUNSELOR_TIME);
+            }
+            // 제약 이름을 못 꺼낸 경우 MySQL duplicate key(1062) 메시지의 인덱스 이름으로 확인
+            if (cause instanceof SQLException sqlException && sqlException.getErrorCode() == MYSQL_DUPLICATE_KEY) {
+                return String.valueOf(sqlException.getMessage()).toLowerCase().contains(Counseling.UK_COUNSELOR_TIME);
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+}
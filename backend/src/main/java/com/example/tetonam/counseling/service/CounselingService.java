@@ -23,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,12 +33,19 @@ public class CounselingService {
     private final CounselingRepository counselingRepository;
     private final CounselingImageRepository counselingImageRepository;
     private final DrawingListRepository drawingListRepository;
+    private final CounselorAvailabilityIndex counselorAvailabilityIndex;
+    private final CounselingCloseQueue counselingCloseQueue;
 
     //테이블의 해당시간에 상담가가 없는사람
     public List<CounselingPossibleCounselorResponseDto> showPossibleCounselor(String email, LocalDateTime time) {
         User user=userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
         School school=user.getSchool();
+        // 인메모리 인덱스로 먼저 답하고, 인덱스가 답할 수 없는 시간일 때만 DB 조회
+        Optional<List<CounselingPossibleCounselorResponseDto>> indexed=counselorAvailabilityIndex.findAvailableCounselors(school,time);
+        if(indexed.isPresent()){
+            return indexed.get();
+        }
         List<User> counselorList=userRepository.findAvailableCounselors(school, Role.COUNSELOR,time);
         // 상담예약 리스트중 해당시간에 상담이 없는 유저
 
@@ -45,7 +53,7 @@ public class CounselingService {
     }
 
 
-    @DistributedLock(key = "#lockKey")
+    @DistributedLock(key = "#lockKey", localFirst = true)
     public String createCounselingWithLock(String email, CounselingReserveRequestDto dto,String lockKey) {
         User student = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
@@ -68,11 +76,19 @@ public class CounselingService {
             throw new CounselingHandler(ErrorStatus.ALREADY_RESERVED);
         }
 
+        return saveCounseling(student, counselor, dto, drawingList);
+    }
+
+    // 존재 체크 없이 INSERT 만 수행 (중복은 uk_counseling_counselor_time 제약이 막는다)
+    @Transactional
+    public String saveCounseling(User student, User counselor, CounselingReserveRequestDto dto, DrawingList drawingList) {
         Counseling counseling = CounselingReserveRequestDto.toEntity(student, counselor, dto);
         Counseling counselingSaved =counselingRepository.save(counseling);
         counselingImageRepository.save(CounselingImage.builder()
                 .counseling(counseling)
                 .drawingList(drawingList).build());
+        counselorAvailabilityIndex.markReservedAfterCommit(counselor, counselingSaved.getReservationTime());
+        counselingCloseQueue.scheduleAfterCommit(counselingSaved.getId(), counselingSaved.getReservationTime());
         System.out.println(counseling.getReservationTime()+"디비 저장전 시간확인");
         System.out.println(counselingSaved.getReservationTime()+"디비 저장후 시간확인");
 
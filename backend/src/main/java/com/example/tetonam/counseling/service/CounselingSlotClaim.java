@@ -0,0 +1,51 @@
+package com.example.tetonam.counseling.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 상담 slot을 Redis 원자 연산 한번으로 선점한다.
+ * SET counselor:{id}:time:{slot} {token} NX PX {ttl} 이 성공한 요청만 DB 저장으로 진행하고,
+ * 저장에 실패하면 자기 토큰일 때만 지우는 스크립트로 선점을 되돌린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CounselingSlotClaim {
+    private static final String RESERVATION_PREFIX = "RESERVATION:";
+    // 예약시간이 지나 close 되기 전까지는 slot을 잡아둔다
+    private static final Duration HOLD_AFTER_RESERVATION = Duration.ofHours(1);
+    private static final Duration MIN_TTL = Duration.ofMinutes(1);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * @return 선점에 성공하면 release 에 넘길 토큰, 이미 선점된 slot이면 null
+     */
+    public String claim(String slotKey, LocalDateTime reservationTime) {
+        String token = UUID.randomUUID().toString();
+        Boolean claimed = redisTemplate.opsForValue()
+                .setIfAbsent(RESERVATION_PREFIX + slotKey, token, ttl(reservationTime));
+        return Boolean.TRUE.equals(claimed) ? token : null;
+    }
+
+    public void release(String slotKey, String token) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(RESERVATION_PREFIX + slotKey), token);
+    }
+
+    private Duration ttl(LocalDateTime reservationTime) {
+        Duration ttl = Duration.between(LocalDateTime.now(), reservationTime.plus(HOLD_AFTER_RESERVATION));
+        return ttl.compareTo(MIN_TTL) < 0 ? MIN_TTL : ttl;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.tetonam.counseling.service;
+
+import com.example.tetonam.counseling.domain.Counseling;
+import com.example.tetonam.counseling.service.enums.ReservationMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 상담 예약 유니크 키 (counselor_id, active_slot_time) 를 기동 시 맞춰두는 마이그레이션 (MySQL)
+ * ddl-auto=update 는 기존 인덱스를 바꾸지 않고, 중복 행이 있으면 유니크 키 생성에 조용히 실패하므로 여기서 직접 확인한다.
+ * 1. 예전 행의 active_slot_time 을 채운다.
+ * 2. 키가 이미 올바른 컬럼에 걸려 있으면 끝
+ * 3. 중복 예약이 남아 있으면 키를 만들 수 없으므로 알리고, INSERT 모드(키가 유일한 방어선)면 기동을 멈춘다.
+ * 4. 예전 키 (counselor_id, reservation_time) 를 지우고 새 키를 만든다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CounselingSlotKeyMigration {
+    private static final List<String> KEY_COLUMNS = List.of("counselor_id", "active_slot_time");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${counseling.reservation.mode:LOCK}")
+    private ReservationMode reservationMode;
+
+    // 가용 인덱스 워밍 등 다른 기동 작업보다 먼저
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        List<String> columns;
+        try {
+            columns = jdbcTemplate.queryForList(
+                    "SELECT column_name FROM information_schema.statistics " +
+                    "WHERE table_schema = DATABASE() AND table_name = 'counseling' AND index_name = ? " +
+                    "ORDER BY seq_in_index", String.class, Counseling.UK_COUNSELOR_TIME);
+        } catch (DataAccessException e) {
+            // information_schema 가 다른 DB (테스트용 H2 등) 는 ddl 이 만든 키를 그대로 쓴다
+            log.info("[CounselingSlotKey] MySQL 이 아니라 유니크 키 확인을 건너뜁니다: {}", e.getMessage());
+            return;
+        }
+
+        int backfilled = jdbcTemplate.update(
+                "UPDATE counseling SET active_slot_time = reservation_time " +
+                "WHERE active_slot_time IS NULL AND (status IS NULL OR status <> 'CANCEL')");
+        if (backfilled > 0) {
+            log.info("[CounselingSlotKey] active_slot_time {}건 채움", backfilled);
+        }
+
+        if (columns.stream().map(String::toLowerCase).toList().equals(KEY_COLUMNS)) {
+            return;
+        }
+
+        Integer duplicates = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT counselor_id, active_slot_time FROM counseling " +
+                "WHERE active_slot_time IS NOT NULL GROUP BY counselor_id, active_slot_time HAVING COUNT(*) > 1) d",
+                Integer.class);
+        if (duplicates != null && duplicates > 0) {
+            String message = "[CounselingSlotKey] 같은 상담사 / 같은 시간 예약이 " + duplicates
+                    + "건 있어 유니크 키 " + Counseling.UK_COUNSELOR_TIME + " 를 만들 수 없습니다. 중복 예약을 정리해주세요";
+            if (reservationMode == ReservationMode.INSERT) {
+                throw new IllegalStateException(message);
+            }
+            log.error(message);
+            return;
+        }
+
+        String dropOld = columns.isEmpty() ? "" : "DROP INDEX " + Counseling.UK_COUNSELOR_TIME + ", ";
+        jdbcTemplate.execute("ALTER TABLE counseling " + dropOld
+                + "ADD CONSTRAINT " + Counseling.UK_COUNSELOR_TIME + " UNIQUE (counselor_id, active_slot_time)");
+        log.info("[CounselingSlotKey] 유니크 키 {} 를 (counselor_id, active_slot_time) 으로 맞춤", Counseling.UK_COUNSELOR_TIME);
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.tetonam.counseling.service;
+
+import com.example.tetonam.counseling.dto.CounselingPossibleCounselorResponseDto;
+import com.example.tetonam.counseling.repository.CounselingRepository;
+import com.example.tetonam.user.domain.School;
+import com.example.tetonam.user.domain.User;
+import com.example.tetonam.user.domain.enums.Role;
+import com.example.tetonam.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 학교별 / 일자별 상담사 예약현황 인메모리 인덱스
+ * 상담사 한 명의 하루를 1분 단위 BitSet(1440칸)으로 들고 있어서
+ * "해당 시간에 비어있는 상담사" 조회를 DB 없이 처리한다.
+ * 다른 인스턴스에서 들어온 예약은 주기적 재빌드 전까지 반영이 늦을 수 있으므로
+ * 이중 예약 방지는 여전히 예약 경로(createCounselingWithLock)가 책임진다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CounselorAvailabilityIndex {
+    private static final int SLOTS_PER_DAY = 24 * 60;
+
+    private final UserRepository userRepository;
+    private final CounselingRepository counselingRepository;
+
+    @Value("${counseling.availability-index.enabled:true}")
+    private boolean enabled;
+
+    // 오늘 기준 며칠 전까지의 예약을 인덱스에 보관할지 (그 이전 날짜 조회는 DB로 보낸다)
+    @Value("${counseling.availability-index.retention-days:1}")
+    private long retentionDays;
+
+    // 학교 이름 -> 상담사 목록
+    private volatile Map<String, List<CounselorEntry>> counselorsBySchool = new ConcurrentHashMap<>();
+    // 상담사 ID -> 학교 이름
+    private final Map<Long, String> schoolByCounselor = new ConcurrentHashMap<>();
+    // 학교 이름 -> 일자 -> 상담사 ID -> 예약된 분(slot)
+    private final Map<String, Map<LocalDate, Map<Long, BitSet>>> reservedSlots = new ConcurrentHashMap<>();
+
+    // 재빌드 중에 들어온 예약 / 취소 (교체한 slot 위에 다시 반영한다)
+    private volatile Queue<SlotChange> changesDuringRebuild;
+
+    private volatile LocalDate horizon;
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 상담사 목록과 보관기간 안의 일자별 slot 을 DB 기준으로 새로 갈아끼운다. (다른 인스턴스에서 취소된 slot 도 비워진다)
+     * 재빌드 도중 커밋된 예약 / 취소가 덮어써져 사라지지 않도록 교체 뒤에 다시 반영한다.
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        LocalDate from = LocalDate.now().minusDays(retentionDays);
+        changesDuringRebuild = new ConcurrentLinkedQueue<>();
+        try {
+            Map<String, List<CounselorEntry>> roster = new ConcurrentHashMap<>();
+            for (User counselor : userRepository.findAllByRoleWithSchool(Role.COUNSELOR)) {
+                String schoolName = counselor.getSchool().getName();
+                roster.computeIfAbsent(schoolName, k -> new CopyOnWriteArrayList<>())
+                        .add(new CounselorEntry(counselor.getId(), counselor.getName()));
+                schoolByCounselor.put(counselor.getId(), schoolName);
+            }
+            counselorsBySchool = roster;
+
+            Map<String, Map<LocalDate, Map<Long, BitSet>>> fresh = new HashMap<>();
+            List<Object[]> reservations = counselingRepository.findReservationSlotsSince(from.atStartOfDay());
+            for (Object[] row : reservations) {
+                apply(fresh, (Long) row[0], (LocalDateTime) row[1], true);
+            }
+
+            // 보관기간 안의 날짜는 통째로 교체 (DB 에 없는 날짜는 비운다)
+            for (Map.Entry<String, Map<LocalDate, Map<Long, BitSet>>> school : reservedSlots.entrySet()) {
+                if (!fresh.containsKey(school.getKey())) {
+                    school.getValue().keySet().removeIf(date -> !date.isBefore(from));
+                }
+            }
+            fresh.forEach((schoolName, days) -> {
+                Map<LocalDate, Map<Long, BitSet>> current = reservedSlots.computeIfAbsent(schoolName, k -> new ConcurrentHashMap<>());
+                current.keySet().removeIf(date -> !date.isBefore(from) && !days.containsKey(date));
+                days.forEach(current::put);
+            });
+
+            for (SlotChange change : changesDuringRebuild) {
+                apply(reservedSlots, change.counselorId(), change.time(), change.reserved());
+            }
+
+            horizon = from;
+            ready = true;
+            log.info("[CounselorAvailabilityIndex] 재빌드 완료: schools = {}, reservations = {}, {}ms",
+                    roster.size(), reservations.size(), System.currentTimeMillis() - start);
+        } finally {
+            changesDuringRebuild = null;
+        }
+    }
+
+    /**
+     * 해당 시간에 예약이 없는 상담사 목록
+     * 인덱스로 답할 수 없는 경우(비활성, 워밍 전, 보관기간 이전, 분 단위가 아닌 시간) Optional.empty() 를 반환하므로
+     * 호출하는 쪽에서 DB 조회로 대체한다.
+     */
+    public Optional<List<CounselingPossibleCounselorResponseDto>> findAvailableCounselors(School school, LocalDateTime time) {
+        if (!enabled || !ready || time == null || time.getSecond() != 0 || time.getNano() != 0
+                || time.toLocalDate().isBefore(horizon)) {
+            return Optional.empty();
+        }
+        if (school == null) {
+            return Optional.of(List.of());
+        }
+
+        List<CounselorEntry> counselors = counselorsBySchool.getOrDefault(school.getName(), List.of());
+        Map<Long, BitSet> day = reservedSlots.getOrDefault(school.getName(), Map.of())
+                .getOrDefault(time.toLocalDate(), Map.of());
+        int slot = slotOf(time);
+
+        List<CounselingPossibleCounselorResponseDto> result = new ArrayList<>();
+        for (CounselorEntry counselor : counselors) {
+            BitSet slots = day.get(counselor.id());
+            if (slots == null || !isSet(slots, slot)) {
+                result.add(CounselingPossibleCounselorResponseDto.builder()
+                        .id(counselor.id())
+                        .counselorName(counselor.name())
+                        .build());
+            }
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * 예약 저장 트랜잭션이 커밋된 뒤에 인덱스에 반영한다. (롤백된 예약이 slot을 차지하지 않도록)
+     */
+    public void markReservedAfterCommit(User counselor, LocalDateTime time) {
+        changeAfterCommit(counselor, time, true);
+    }
+
+    /**
+     * 예약 취소 트랜잭션이 커밋된 뒤에 slot 을 비운다. (다른 인스턴스의 취소는 다음 재빌드 때 비워진다)
+     */
+    public void markCancelledAfterCommit(User counselor, LocalDateTime time) {
+        changeAfterCommit(counselor, time, false);
+    }
+
+    private void changeAfterCommit(User counselor, LocalDateTime time, boolean reserved) {
+        if (!enabled || counselor.getSchool() == null) {
+            return;
+        }
+        Long counselorId = counselor.getId();
+        schoolByCounselor.computeIfAbsent(counselorId, id -> counselor.getSchool().getName());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change(counselorId, time, reserved);
+                }
+            });
+        } else {
+            change(counselorId, time, reserved);
+        }
+    }
+
+    // 새로 가입한 상담사를 재빌드 전까지 기다리지 않고 바로 목록에 올린다 (가입이 롤백되면 올리지 않도록 커밋 후)
+    public void registerCounselorAfterCommit(User user) {
+        if (!enabled || user.getSchool() == null || !user.getRoles().contains(Role.COUNSELOR)) {
+            return;
+        }
+        Long counselorId = user.getId();
+        String schoolName = user.getSchool().getName();
+        String name = user.getName();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    register(counselorId, schoolName, name);
+                }
+            });
+        } else {
+            register(counselorId, schoolName, name);
+        }
+    }
+
+    private void register(Long counselorId, String schoolName, String name) {
+        schoolByCounselor.put(counselorId, schoolName);
+        counselorsBySchool.computeIfAbsent(schoolName, k -> new CopyOnWriteArrayList<>())
+                .add(new CounselorEntry(counselorId, name));
+    }
+
+    // close 처리가 돌 때 보관기간이 지난 날짜를 비워 메모리를 제한한다
+    public void evictExpired() {
+        if (!enabled || !ready) {
+            return;
+        }
+        LocalDate from = LocalDate.now().minusDays(retentionDays);
+        for (Map<LocalDate, Map<Long, BitSet>> days : reservedSlots.values()) {
+            days.keySet().removeIf(date -> date.isBefore(from));
+        }
+        horizon = from;
+    }
+
+    private void change(Long counselorId, LocalDateTime time, boolean reserved) {
+        Queue<SlotChange> pending = changesDuringRebuild;
+        if (pending != null) {
+            pending.add(new SlotChange(counselorId, time, reserved));
+        }
+        apply(reservedSlots, counselorId, time, reserved);
+    }
+
+    private void apply(Map<String, Map<LocalDate, Map<Long, BitSet>>> target, Long counselorId, LocalDateTime time, boolean reserved) {
+        String schoolName = schoolByCounselor.get(counselorId);
+        if (schoolName == null || time == null) {
+            return;
+        }
+        BitSet slots = target.computeIfAbsent(schoolName, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(time.toLocalDate(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(counselorId, k -> new BitSet(SLOTS_PER_DAY));
+        synchronized (slots) {
+            slots.set(slotOf(time), reserved);
+        }
+    }
+
+    private static boolean isSet(BitSet slots, int slot) {
+        synchronized (slots) {
+            return slots.get(slot);
+        }
+    }
+
+    private static int slotOf(LocalDateTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private record CounselorEntry(Long id, String name) {
+    }
+
+    private record SlotChange(Long counselorId, LocalDateTime time, boolean reserved) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.tetonam.counseling.service.enums;
+
+public enum ReservationMode {
+    LOCK,   // Redisson 분산락 + 존재 체크 후 저장 (기존 방식)
+    REDIS,  // Redis SET NX 한번으로 slot 선점 후 저장
+    INSERT  // 락/존재 체크 없이 INSERT, 중복은 (counselor_id, reservation_time) 유니크 제약으로 판정
+}
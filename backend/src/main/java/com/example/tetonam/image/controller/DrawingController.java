@@ -2,16 +2,22 @@ package com.example.tetonam.image.controller;
 
 
 import com.example.tetonam.image.dto.CounselingRagRequestDto;
+import com.example.tetonam.image.dto.DrawingUploadUrlRequestDto;
+import com.example.tetonam.image.dto.DrawingUploadUrlResponseDto;
 import com.example.tetonam.image.dto.RecentDrawingResponseDto;
 import com.example.tetonam.image.service.DrawingService;
+import com.example.tetonam.image.service.DrawingUploadService;
 import com.example.tetonam.response.ApiResponse;
-import com.example.tetonam.user.token.JwtTokenProvider;
+import com.example.tetonam.user.token.AuthEmail;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,28 +27,39 @@ import java.util.List;
 @RequestMapping("/image")
 public class DrawingController {
     private final DrawingService drawingService;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final DrawingUploadService drawingUploadService;
 
 
     @Operation(summary = "그림 저장 API", description = "4장의 그림을 저장합니다..")
     @PostMapping()
-    public ResponseEntity<?> createDrawing(MultipartFile homeImageUrl,MultipartFile treeImageUrl,MultipartFile humanImageFirstUrl,MultipartFile humanImageSecondUrl,@RequestHeader("Authorization") String token){
-        String email = jwtTokenProvider.getEmail(token.substring(7));
-
+    public ResponseEntity<?> createDrawing(MultipartFile homeImageUrl,MultipartFile treeImageUrl,MultipartFile humanImageFirstUrl,MultipartFile humanImageSecondUrl,@AuthEmail String email){
         List<MultipartFile> multipartFileList=new ArrayList<>();
         multipartFileList.add(homeImageUrl); // 0은 home
         multipartFileList.add(treeImageUrl); // 1은 tree
         multipartFileList.add(humanImageFirstUrl); //2은 human
         multipartFileList.add(humanImageSecondUrl); //3은 human2
 
-        String result=drawingService.createDrawing(email,multipartFileList);
+        String result=drawingUploadService.createDrawing(email,multipartFileList);
+        return ResponseEntity.ok().body(ApiResponse.onSuccess(result));
+    }
+
+    @PostMapping("/upload-urls")
+    @Operation(summary = "그림 업로드 URL 발급 API", description = "4장의 그림(집, 나무, 사람1, 사람2 순)을 저장소에 직접 올릴 URL 을 발급합니다")
+    public ResponseEntity<?> issueUploadUrls(@AuthEmail String email, @RequestBody DrawingUploadUrlRequestDto drawingUploadUrlRequestDto) {
+        DrawingUploadUrlResponseDto result=drawingUploadService.issueUploadUrls(email,drawingUploadUrlRequestDto);
+        return ResponseEntity.ok().body(ApiResponse.onSuccess(result));
+    }
+
+    @PostMapping("/upload-urls/{uploadId}/complete")
+    @Operation(summary = "그림 업로드 완료 API", description = "발급받은 URL 로 올린 4장의 그림을 저장하고 AI 분석을 시작합니다")
+    public ResponseEntity<?> completeUpload(@AuthEmail String email, @PathVariable String uploadId) {
+        String result=drawingUploadService.completeUpload(email,uploadId);
         return ResponseEntity.ok().body(ApiResponse.onSuccess(result));
     }
 
     @GetMapping("/recent-images")
     @Operation(summary = "최근 그림 조회 API", description = "내가 검사한 최근 그림이 나옵니다")
-    public ResponseEntity<?> showRecentImages(@RequestHeader("Authorization") String token) {
-        String email = jwtTokenProvider.getEmail(token.substring(7));
+    public ResponseEntity<?> showRecentImages(@AuthEmail String email) {
         List<RecentDrawingResponseDto> recentDrawingResponseDtoList=drawingService.showRecentImages(email);
         return ResponseEntity.ok().body(ApiResponse.onSuccess(recentDrawingResponseDtoList));
     }
@@ -51,16 +68,14 @@ public class DrawingController {
 
     @GetMapping("/counseling/{id}")
     @Operation(summary = "상담의 그림 조회 API", description = "해당 상담의 그림들을 반환합니다")
-    public ResponseEntity<?> counselingImage(@RequestHeader("Authorization") String token,@PathVariable Long id) {
-        String email = jwtTokenProvider.getEmail(token.substring(7));
+    public ResponseEntity<?> counselingImage(@AuthEmail String email,@PathVariable Long id) {
         List<RecentDrawingResponseDto> recentDrawingResponseDtoList=drawingService.showCounselingImage(email,id);
         return ResponseEntity.ok().body(ApiResponse.onSuccess(recentDrawingResponseDtoList));
     }
 
     @PostMapping("/counseling/rag/{id}")
     @Operation(summary = "상담사의 코멘트 Rag API", description = "상담사가 적은 코멘트를 Rag모델을 통해 저장합니다.")
-    public ResponseEntity<?> CounselingRag(@RequestHeader("Authorization") String token, @PathVariable Long id, @RequestBody CounselingRagRequestDto counselingRagRequestDto) {
-        String email = jwtTokenProvider.getEmail(token.substring(7));
+    public ResponseEntity<?> CounselingRag(@AuthEmail String email, @PathVariable Long id, @RequestBody CounselingRagRequestDto counselingRagRequestDto) {
         String result=drawingService.counselingRagSave(email,id,counselingRagRequestDto);
         return ResponseEntity.ok().body(ApiResponse.onSuccess(result));
     }
@@ -68,18 +83,24 @@ public class DrawingController {
 
     @GetMapping("/counseling/rag/{id}")
     @Operation(summary = "그림 상세 조회 API", description = "RAG모델을 통해 저장된 그림 상세 설명이 나옵니다")
-    public ResponseEntity<?> detailRagImage(@RequestHeader("Authorization") String token,@PathVariable Long id) {
-        String email = jwtTokenProvider.getEmail(token.substring(7));
+    public ResponseEntity<?> detailRagImage(@AuthEmail String email,@PathVariable Long id) {
         String result=drawingService.showCounselingRag(email,id);
 
         return ResponseEntity.ok().body(ApiResponse.onSuccess(result));
     }
 
+    @GetMapping(value = "/{id}/ai-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "AI 결과 알림 구독 API", description = "그림의 객체탐지(PREDICT) / RAG 결과가 저장되면 SSE 이벤트로 알려줍니다. 이벤트를 받으면 결과 조회 API 를 호출하세요")
+    public SseEmitter subscribeAiResult(@AuthEmail String email, @PathVariable Long id, HttpServletResponse response) {
+        // nginx 가 이벤트를 모아두지 않고 바로 흘려보내도록
+        response.setHeader("X-Accel-Buffering", "no");
+        return drawingService.subscribeAiResult(email,id);
+    }
+
     @GetMapping("/counseling/ai/{id}")
     @PreAuthorize("hasRole('COUNSELOR')")
     @Operation(summary = "객체탐지 ai 조회 API", description = "객체 탐지 모델을 통해 저장된 그림 탐지 내용이 나옵니다")
-    public ResponseEntity<?> objectDetectionImage(@RequestHeader("Authorization") String token,@PathVariable Long id) {
-        String email = jwtTokenProvider.getEmail(token.substring(7));
+    public ResponseEntity<?> objectDetectionImage(@AuthEmail String email,@PathVariable Long id) {
         String result=drawingService.objectDetectionImage(email,id);
 
         return ResponseEntity.ok().body(ApiResponse.onSuccess(result));
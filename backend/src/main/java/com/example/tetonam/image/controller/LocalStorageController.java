@@ -0,0 +1,77 @@
+package com.example.tetonam.image.controller;
+
+import com.example.tetonam.exception.handler.AWSHandler;
+import com.example.tetonam.image.service.storage.LocalObjectStorage;
+import com.example.tetonam.image.service.storage.UploadPolicy;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * storage.type = local 일 때 저장된 그림 파일을 내려주고, 발급된 업로드 URL 로 들어오는 PUT 을 받는다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/files")
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalStorageController {
+    // Tomcat NIO 커넥터가 sendfile 을 지원하면 응답 본문을 커널 sendfile 로 보낸다
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalObjectStorage localObjectStorage;
+    private final UploadPolicy uploadPolicy;
+
+    @GetMapping("/**")
+    @Operation(summary = "로컬 저장 그림 조회 API", description = "storage.type=local 일 때 저장된 그림 파일을 반환합니다")
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = keyOf(request);
+        Path path = localObjectStorage.pathOf(key);
+        long size = Files.size(path);
+
+        response.setContentType(localObjectStorage.contentTypeOf(path));
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        localObjectStorage.transferTo(path, Channels.newChannel(response.getOutputStream()));
+    }
+
+    @PutMapping("/**")
+    @Operation(summary = "로컬 저장소 직접 업로드 API", description = "그림 업로드 URL 발급 API 에서 받은 URL 로 그림을 올립니다")
+    public ResponseEntity<?> upload(HttpServletRequest request, @RequestParam long expires, @RequestParam String signature) {
+        String key = keyOf(request);
+        localObjectStorage.verifyPut(key, expires, signature);
+        uploadPolicy.checkContentType(request.getContentType());
+        // Content-Length 가 넘으면 본문을 읽지 않고 거절하고, 길이를 모르는(chunked) 본문은 쓰면서 잘라낸다
+        if (request.getContentLengthLong() > uploadPolicy.maxBytes()) {
+            throw new AWSHandler(ErrorStatus.FILE_TOO_LARGE);
+        }
+        localObjectStorage.write(key, request::getInputStream, uploadPolicy.maxBytes());
+        return ResponseEntity.ok().build();
+    }
+
+    private String keyOf(HttpServletRequest request) {
+        return UriUtils.decode(
+                request.getRequestURI().substring(request.getContextPath().length() + "/files/".length()),
+                StandardCharsets.UTF_8);
+    }
+}
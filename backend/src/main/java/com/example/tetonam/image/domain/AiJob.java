@@ -0,0 +1,79 @@
+package com.example.tetonam.image.domain;
+
+import com.example.tetonam.image.domain.enums.AiJobStatus;
+import com.example.tetonam.image.domain.enums.AiJobType;
+import com.example.tetonam.util.BaseTime;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 분석 작업 (객체탐지 / RAG)
+ * PENDING 은 next_run_at 이 지나면, RUNNING 은 locked_until(visibility timeout) 이 지나면 다시 가져갈 수 있다.
+ * 그래서 작업을 가져간 인스턴스가 죽어도 다른 인스턴스(또는 재기동 후 자신)가 이어서 처리한다.
+ * 그림 / 종류별로 진행 중(PENDING / RUNNING)인 작업은 유니크 키 (drawing_id, active_type) 로 하나만 둔다.
+ */
+@Entity
+@Table(name = "ai_job", uniqueConstraints = {
+        @UniqueConstraint(name = AiJob.UK_DRAWING_ACTIVE_TYPE, columnNames = {"drawing_id", "active_type"})
+}, indexes = {
+        @Index(name = "idx_ai_job_status_next_run", columnList = "status, next_run_at"),
+        @Index(name = "idx_ai_job_status_locked", columnList = "status, locked_until")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiJob extends BaseTime {
+    public static final String UK_DRAWING_ACTIVE_TYPE = "uk_ai_job_drawing_active_type";
+
+    @Column(name = "ai_job_id", updatable = false, unique = true, nullable = false)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AiJobType type;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AiJobStatus status;
+
+    @JoinColumn(name = "drawing_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Drawing drawing;
+
+    // RAG 작업의 상담사 코멘트
+    @Column(columnDefinition = "TEXT")
+    private String question;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    // 가져갈 때마다 새로 발급, 늦게 끝난 이전 실행이 상태를 덮어쓰지 못하게 한다
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // 진행 중(PENDING / RUNNING)인 작업만 type 을 가진다. 끝난 작업(DONE / FAILED)은 null 이라 유니크 키에서 빠진다.
+    // (벌크 UPDATE 로 상태를 바꿀 때는 이 컬럼도 같이 맞춰야 한다)
+    @Column(name = "active_type")
+    @Enumerated(EnumType.STRING)
+    private AiJobType activeType;
+
+    @PrePersist
+    @PreUpdate
+    void syncActiveType() {
+        activeType = status == AiJobStatus.PENDING || status == AiJobStatus.RUNNING ? type : null;
+    }
+}
@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_drawing_content_hash", columnList = "content_hash"))
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,6 +29,18 @@ public class Drawing extends BaseTime {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String imageUrl;
 
+    // 목록 표시용 썸네일 (변환 실패 시 null)
+    @Column(columnDefinition = "TEXT")
+    private String thumbnailUrl;
+
+    // AI 서버 입력용으로 줄인 그림 (변환 실패 시 null)
+    @Column(columnDefinition = "TEXT")
+    private String aiInputUrl;
+
+    // 원본 파일의 SHA-256 (중복 업로드 시 저장 파일과 AI 결과 재사용)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(nullable = false)
     private DrawingCategory drawingCategory;
 
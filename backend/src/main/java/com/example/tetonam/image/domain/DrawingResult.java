@@ -22,7 +22,8 @@ public class DrawingResult {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String drawingResult;
 
-    @JoinColumn(name="drawing_id")
+    // 그림 하나에 결과 하나 (동시에 저장해도 DB 가 한 건만 남긴다)
+    @JoinColumn(name="drawing_id", unique = true)
     @OneToOne
     private Drawing drawing;
 
@@ -0,0 +1,5 @@
+package com.example.tetonam.image.domain.enums;
+
+public enum AiJobStatus {
+    PENDING,RUNNING,DONE,FAILED
+}
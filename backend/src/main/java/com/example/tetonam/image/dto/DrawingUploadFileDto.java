@@ -0,0 +1,18 @@
+package com.example.tetonam.image.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DrawingUploadFileDto {
+
+  private String fileName;
+  private String contentType;
+  // 파일의 SHA-256 (hex, 선택). 전에 올린 같은 파일이 있으면 업로드 URL 대신 저장된 파일을 쓴다
+  private String contentHash;
+
+}
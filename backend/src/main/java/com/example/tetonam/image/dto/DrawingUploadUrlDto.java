@@ -0,0 +1,38 @@
+package com.example.tetonam.image.dto;
+
+import com.example.tetonam.image.service.enums.DrawingCategory;
+import com.example.tetonam.image.service.storage.PresignedUpload;
+import lombok.*;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DrawingUploadUrlDto {
+
+  private String category;
+  private String uploadUrl;
+  // PUT 할 때 같이 보내야 하는 헤더
+  private Map<String, String> headers;
+  // 전에 올린 같은 파일을 쓰므로 올리지 않아도 되는지 (true 면 uploadUrl 이 없다)
+  private boolean reused;
+
+  public static DrawingUploadUrlDto toDto(DrawingCategory category, PresignedUpload presignedUpload){
+    return DrawingUploadUrlDto.builder()
+            .category(category.toString())
+            .uploadUrl(presignedUpload.uploadUrl())
+            .headers(presignedUpload.headers())
+            .build();
+  }
+
+  public static DrawingUploadUrlDto reused(DrawingCategory category){
+    return DrawingUploadUrlDto.builder()
+            .category(category.toString())
+            .reused(true)
+            .build();
+  }
+}
@@ -0,0 +1,18 @@
+package com.example.tetonam.image.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DrawingUploadUrlRequestDto {
+
+  // 집, 나무, 사람1, 사람2 순서
+  private List<DrawingUploadFileDto> files;
+
+}
@@ -0,0 +1,18 @@
+package com.example.tetonam.image.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DrawingUploadUrlResponseDto {
+
+  private String uploadId;
+  private List<DrawingUploadUrlDto> uploadUrls;
+
+}
@@ -0,0 +1,16 @@
+package com.example.tetonam.image.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PredictBatchItemDto {
+
+  private String url;
+  private String category;
+
+}
@@ -0,0 +1,17 @@
+package com.example.tetonam.image.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PredictBatchRequestDto {
+
+  private List<PredictBatchItemDto> items;
+
+}
@@ -0,0 +1,19 @@
+package com.example.tetonam.image.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PredictBatchResultDto {
+
+  private String category;
+  // /predict/json_s3 와 같은 분석 문자열 (실패 시 null)
+  private String result;
+  // 해당 그림만 실패한 경우의 에러 메시지
+  private String error;
+
+}
@@ -15,11 +15,13 @@ public class RecentDrawingResponseDto {
   private Long id;
   private String category;
   private String imageUrl;
+  private String thumbnailUrl;
   public static RecentDrawingResponseDto toDto(Drawing drawing){
     return RecentDrawingResponseDto.builder()
             .id(drawing.getId())
             .category(drawing.getDrawingCategory().toString())
             .imageUrl(drawing.getImageUrl())
+            .thumbnailUrl(drawing.getThumbnailUrl()!=null ? drawing.getThumbnailUrl() : drawing.getImageUrl())
             .build();
   }
 }
\ No newline at end of file
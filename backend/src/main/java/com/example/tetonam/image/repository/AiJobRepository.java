@@ -0,0 +1,63 @@
+package com.example.tetonam.image.repository;
+
+import com.example.tetonam.image.domain.AiJob;
+import com.example.tetonam.image.domain.Drawing;
+import com.example.tetonam.image.domain.enums.AiJobStatus;
+import com.example.tetonam.image.domain.enums.AiJobType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface AiJobRepository extends JpaRepository<AiJob,Long> {
+
+    // 가져갈 수 있는 작업 id (다른 인스턴스가 잠근 행은 건너뛴다, MySQL 8)
+    @Query(value = "SELECT ai_job_id FROM ai_job " +
+            "WHERE (status = 'PENDING' AND next_run_at <= :now) " +
+            "OR (status = 'RUNNING' AND locked_until < :now) " +
+            "ORDER BY ai_job_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findClaimableIds(LocalDateTime now, int limit);
+
+    @Query("SELECT j FROM AiJob j JOIN FETCH j.drawing WHERE j.id IN :ids")
+    List<AiJob> findAllWithDrawingByIdIn(Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AiJob j SET j.status = com.example.tetonam.image.domain.enums.AiJobStatus.RUNNING, j.lockedUntil = :lockedUntil, j.claimToken = :claimToken, " +
+            "j.attempts = j.attempts + 1 WHERE j.id IN :ids")
+    int markRunning(Collection<Long> ids, LocalDateTime lockedUntil, String claimToken);
+
+    // PENDING 으로 되돌리면 진행 중 키(active_type)를 유지하고, DONE / FAILED 면 비운다
+    @Modifying
+    @Query("UPDATE AiJob j SET j.status = :status, j.nextRunAt = :nextRunAt, j.lockedUntil = null, j.lastError = :lastError, " +
+            "j.activeType = CASE WHEN :status = com.example.tetonam.image.domain.enums.AiJobStatus.PENDING THEN j.type ELSE NULL END " +
+            "WHERE j.id = :id AND j.claimToken = :claimToken AND j.status = com.example.tetonam.image.domain.enums.AiJobStatus.RUNNING")
+    int finish(long id, String claimToken, AiJobStatus status, LocalDateTime nextRunAt, String lastError);
+
+    // 외부 사정(AI 서버 혼잡)으로 보내지 못한 작업은 시도 횟수를 되돌리고 다시 PENDING
+    @Modifying
+    @Query("UPDATE AiJob j SET j.status = com.example.tetonam.image.domain.enums.AiJobStatus.PENDING, j.nextRunAt = :nextRunAt, j.lockedUntil = null, " +
+            "j.attempts = j.attempts - 1 " +
+            "WHERE j.id = :id AND j.claimToken = :claimToken AND j.status = com.example.tetonam.image.domain.enums.AiJobStatus.RUNNING")
+    int release(long id, String claimToken, LocalDateTime nextRunAt);
+
+    // 그림 / 종류별 마지막 작업이 FAILED 이고 아직 결과가 없는 작업 (RAG 는 코멘트가 작업에만 있으므로 새로 만들지 않고 되살린다)
+    @Query("SELECT j.id FROM AiJob j WHERE j.status = com.example.tetonam.image.domain.enums.AiJobStatus.FAILED " +
+            "AND j.createdDate >= :from " +
+            "AND j.id = (SELECT MAX(j2.id) FROM AiJob j2 WHERE j2.drawing = j.drawing AND j2.type = j.type) " +
+            "AND ((j.type = com.example.tetonam.image.domain.enums.AiJobType.PREDICT " +
+            "AND NOT EXISTS (SELECT r FROM DrawingResult r WHERE r.drawing = j.drawing)) " +
+            "OR (j.type = com.example.tetonam.image.domain.enums.AiJobType.RAG " +
+            "AND NOT EXISTS (SELECT r FROM DrawingRagResult r WHERE r.drawing = j.drawing)))")
+    List<Long> findRequeueableFailedIds(LocalDateTime from);
+
+    @Modifying
+    @Query("UPDATE AiJob j SET j.status = com.example.tetonam.image.domain.enums.AiJobStatus.PENDING, j.attempts = 0, j.nextRunAt = :now, " +
+            "j.lockedUntil = null, j.claimToken = null, j.activeType = j.type " +
+            "WHERE j.id IN :ids AND j.status = com.example.tetonam.image.domain.enums.AiJobStatus.FAILED")
+    int requeueFailed(Collection<Long> ids, LocalDateTime now);
+
+    boolean existsByDrawingAndTypeAndStatusIn(Drawing drawing, AiJobType type, Collection<AiJobStatus> statuses);
+}
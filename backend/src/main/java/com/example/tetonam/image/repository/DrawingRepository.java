@@ -3,15 +3,35 @@ package com.example.tetonam.image.repository;
 import com.example.tetonam.diagnosis.domain.Survey;
 import com.example.tetonam.diagnosis.domain.enums.Category;
 import com.example.tetonam.image.domain.Drawing;
+import com.example.tetonam.image.domain.enums.AiJobType;
 import com.example.tetonam.user.domain.User;
 import io.lettuce.core.dynamic.annotation.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface DrawingRepository extends JpaRepository<Drawing,Long> {
 
+    // 같은 사용자가 전에 올린 같은 내용의 그림 (다른 사용자의 저장 경로는 노출하지 않는다)
+    Optional<Drawing> findFirstByContentHashAndDrawingListUserOrderByIdAsc(String contentHash, User user);
+
+    // 객체탐지 결과도, 진행 중(PENDING / RUNNING)인 작업도 없는 그림 (작업 등록 전에 죽었거나 작업이 FAILED 로 끝난 경우)
+    @Query("SELECT d FROM Drawing d WHERE d.createdDate >= :from " +
+            "AND NOT EXISTS (SELECT r FROM DrawingResult r WHERE r.drawing = d) " +
+            "AND NOT EXISTS (SELECT j FROM AiJob j WHERE j.drawing = d AND j.type = :type " +
+            "AND j.status IN (com.example.tetonam.image.domain.enums.AiJobStatus.PENDING, com.example.tetonam.image.domain.enums.AiJobStatus.RUNNING))")
+    List<Drawing> findWithoutResultOrActiveJobSince(LocalDateTime from, AiJobType type);
+
+    // 저장 뒤에 따로 만든 썸네일 / AI 입력용 URL 과 원본 해시를 채운다
+    @Transactional
+    @Modifying
+    @Query("UPDATE Drawing d SET d.thumbnailUrl = :thumbnailUrl, d.aiInputUrl = :aiInputUrl, d.contentHash = :contentHash WHERE d.id = :id")
+    int updateVariants(Long id, String thumbnailUrl, String aiInputUrl, String contentHash);
 
 }
 
@@ -2,6 +2,7 @@ package com.example.tetonam.image.repository;
 
 import com.example.tetonam.image.domain.Drawing;
 import com.example.tetonam.image.domain.DrawingResult;
+import com.example.tetonam.image.service.enums.DrawingCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -12,5 +13,8 @@ public interface DrawingResultRepository extends JpaRepository<DrawingResult,Lon
 
     @Query("SELECT r FROM DrawingResult r WHERE r.drawing.id = :id")
     Optional<DrawingResult> findByDrawing(Long id);
+
+    // 내용(SHA-256)과 카테고리가 같은 그림의 기존 객체탐지 결과
+    Optional<DrawingResult> findFirstByDrawingContentHashAndDrawingDrawingCategoryOrderByIdAsc(String contentHash, DrawingCategory drawingCategory);
 }
 
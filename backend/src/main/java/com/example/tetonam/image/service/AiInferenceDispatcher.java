@@ -0,0 +1,257 @@
+package com.example.tetonam.image.service;
+
+import com.example.tetonam.exception.handler.DrawingHandler;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * AI 서버(GPU 1장) 호출을 줄 세워 보내는 디스패처
+ * - 동시에 보내는 요청은 ai.dispatch.max-in-flight 개까지, 나머지는 max-queue 크기의 대기열에서 기다린다. (넘치면 거절)
+ * - 요청마다 timeout, 5xx / 연결 오류 / timeout 은 지터를 넣은 지수 backoff 로 재시도
+ * - 재시도까지 실패한 요청이 연속으로 circuit-failure-threshold 번 나오면 circuit-open-ms 동안 바로 거절하고,
+ *   그 뒤 한 건만 시험 삼아 보내서 성공하면 다시 연다. (4xx 처럼 재시도하지 않는 실패는 서버 장애가 아니므로 세지 않는다)
+ */
+@Slf4j
+@Component
+public class AiInferenceDispatcher {
+    private final Sinks.Many<Job<?>> jobs;
+    private final Disposable worker;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    private final int maxQueue;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+
+    public AiInferenceDispatcher(MeterRegistry meterRegistry,
+                                 @Value("${ai.dispatch.max-in-flight:2}") int maxInFlight,
+                                 @Value("${ai.dispatch.max-queue:200}") int maxQueue,
+                                 @Value("${ai.dispatch.timeout-ms:120000}") long timeoutMillis,
+                                 @Value("${ai.dispatch.max-retries:3}") int maxRetries,
+                                 @Value("${ai.dispatch.retry-backoff-ms:500}") long retryBackoffMillis,
+                                 @Value("${ai.dispatch.circuit-failure-threshold:5}") int failureThreshold,
+                                 @Value("${ai.dispatch.circuit-open-ms:30000}") long openMillis) {
+        this.meterRegistry = meterRegistry;
+        this.maxQueue = maxQueue;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMillis);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMillis);
+
+        // Queues.get 은 크기를 2의 거듭제곱으로 올리므로 대기열은 제한 없이 두고 max-queue 는 queued 로 지킨다
+        this.jobs = Sinks.many().unicast().onBackpressureBuffer(Queues.<Job<?>>unbounded().get());
+        // flatMap 의 동시성 = 동시에 AI 서버로 나가는 요청 수
+        this.worker = jobs.asFlux()
+                .flatMap(Job::run, maxInFlight)
+                .subscribe();
+
+        Gauge.builder("ai.dispatch.queue.depth", queued, AtomicInteger::get)
+                .description("AI 서버로 보내기를 기다리는 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.dispatch.in.flight", inFlight, AtomicInteger::get)
+                .description("AI 서버에서 처리 중인 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.dispatch.circuit.open", circuitBreaker, breaker -> breaker.isOpen() ? 1 : 0)
+                .description("AI 서버 circuit breaker 가 열려 있는지 (1/0)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * call 을 대기열에 넣는다. 반환된 Mono 는 구독할 때 대기열에 들어가고, AI 서버 응답(재시도 포함)이 오면 끝난다.
+     * 대기열이 가득 찼거나 circuit 이 열려 있으면 DrawingHandler(AI_SERVER_BUSY) 로 끝난다.
+     */
+    public <T> Mono<T> dispatch(String operation, Supplier<Mono<T>> call) {
+        return Mono.create(sink -> {
+            Permit permit = circuitBreaker.tryAcquire();
+            if (permit == Permit.DENIED) {
+                reject(operation, sink, "circuit open");
+                return;
+            }
+            boolean trial = permit == Permit.TRIAL;
+            // 꺼내는 쪽(Job.run)이 먼저 줄여서 gauge 가 음수가 되지 않도록 넣기 전에 센다
+            if (queued.incrementAndGet() > maxQueue) {
+                queued.decrementAndGet();
+                circuitBreaker.release(trial);
+                reject(operation, sink, "queue full (" + maxQueue + ")");
+                return;
+            }
+            Job<T> job = new Job<>(operation, call, sink, trial);
+            Sinks.EmitResult result;
+            // unicast sink 는 동시 emit 을 허용하지 않으므로 직렬화
+            synchronized (jobs) {
+                result = jobs.tryEmitNext(job);
+            }
+            if (result.isFailure()) {
+                queued.decrementAndGet();
+                circuitBreaker.release(trial);
+                reject(operation, sink, "dispatcher stopped (" + result + ")");
+            }
+        });
+    }
+
+    private void reject(String operation, MonoSink<?> sink, String reason) {
+        count(operation, "rejected");
+        log.warn("[AiInferenceDispatcher] 요청 거절: operation = {}, reason = {}", operation, reason);
+        sink.error(new DrawingHandler(ErrorStatus.AI_SERVER_BUSY));
+    }
+
+    private void count(String operation, String result) {
+        Counter.builder("ai.dispatch.requests")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // 5xx, 연결 실패, timeout 만 재시도 (4xx 는 다시 보내도 같다)
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.tryEmitComplete();
+        worker.dispose();
+    }
+
+    private final class Job<T> {
+        private final String operation;
+        private final Supplier<Mono<T>> call;
+        private final MonoSink<T> sink;
+        // half-open 시험 요청인지 (시험 요청만 trialInProgress 를 풀 수 있다)
+        private final boolean trial;
+
+        private Job(String operation, Supplier<Mono<T>> call, MonoSink<T> sink, boolean trial) {
+            this.operation = operation;
+            this.call = call;
+            this.sink = sink;
+            this.trial = trial;
+        }
+
+        // flatMap 안에서 실행되므로 에러를 밖으로 내보내지 않는다 (내보내면 디스패처 전체가 멈춤)
+        private Mono<Void> run() {
+            queued.decrementAndGet();
+            inFlight.incrementAndGet();
+            long started = System.nanoTime();
+            return Mono.defer(call)
+                    .timeout(timeout)
+                    .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                            .jitter(0.5)
+                            .filter(AiInferenceDispatcher::isRetryable)
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .doOnNext(sink::success)
+                    .doOnSuccess(value -> {
+                        if (value == null) {
+                            sink.success();
+                        }
+                        circuitBreaker.onSuccess(trial);
+                        count(operation, "success");
+                    })
+                    .doOnError(error -> {
+                        if (isRetryable(error)) {
+                            circuitBreaker.onFailure(trial);
+                        } else {
+                            circuitBreaker.release(trial);
+                        }
+                        count(operation, "failure");
+                        sink.error(error);
+                    })
+                    .doFinally(signal -> {
+                        inFlight.decrementAndGet();
+                        Timer.builder("ai.dispatch.latency")
+                                .tag("operation", operation)
+                                .register(meterRegistry)
+                                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    })
+                    .then()
+                    .onErrorResume(error -> Mono.empty());
+        }
+    }
+
+    private enum Permit {
+        DENIED, GRANTED, TRIAL
+    }
+
+    /**
+     * 연속 실패 횟수 기반의 단순 circuit breaker (CLOSED -> OPEN -> HALF_OPEN 1건 -> CLOSED/OPEN)
+     */
+    private static final class CircuitBreaker {
+        private final int failureThreshold;
+        private final long openMillis;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicLong openUntil = new AtomicLong();
+        private final AtomicBoolean trialInProgress = new AtomicBoolean();
+
+        private CircuitBreaker(int failureThreshold, long openMillis) {
+            this.failureThreshold = failureThreshold;
+            this.openMillis = openMillis;
+        }
+
+        boolean isOpen() {
+            return openUntil.get() > System.currentTimeMillis();
+        }
+
+        Permit tryAcquire() {
+            long until = openUntil.get();
+            if (until == 0L) {
+                return Permit.GRANTED;
+            }
+            if (until > System.currentTimeMillis()) {
+                return Permit.DENIED;
+            }
+            // open 시간이 지나면 한 건만 통과시켜 본다
+            return trialInProgress.compareAndSet(false, true) ? Permit.TRIAL : Permit.DENIED;
+        }
+
+        // 대기열에 넣지 못해 실제로 보내지 않았거나, 서버 장애로 볼 수 없는 실패(4xx 등)로 끝난 경우
+        // (CLOSED 때 들어온 요청이 half-open 중에 끝나도 진행 중인 시험 요청의 자리를 풀지 않는다)
+        void release(boolean trial) {
+            if (trial) {
+                trialInProgress.set(false);
+            }
+        }
+
+        void onSuccess(boolean trial) {
+            consecutiveFailures.set(0);
+            openUntil.set(0L);
+            release(trial);
+        }
+
+        void onFailure(boolean trial) {
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold || trial) {
+                openUntil.set(System.currentTimeMillis() + openMillis);
+                log.warn("[AiInferenceDispatcher] circuit open: {}ms 동안 AI 요청을 거절합니다", openMillis);
+            }
+            release(trial);
+        }
+    }
+}
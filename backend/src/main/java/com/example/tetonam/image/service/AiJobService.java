@@ -0,0 +1,251 @@
+package com.example.tetonam.image.service;
+
+import com.example.tetonam.exception.handler.DrawingHandler;
+import com.example.tetonam.image.domain.AiJob;
+import com.example.tetonam.image.domain.Drawing;
+import com.example.tetonam.image.domain.DrawingRagResult;
+import com.example.tetonam.image.domain.DrawingResult;
+import com.example.tetonam.image.domain.enums.AiJobStatus;
+import com.example.tetonam.image.domain.enums.AiJobType;
+import com.example.tetonam.image.repository.AiJobRepository;
+import com.example.tetonam.image.repository.DrawingRagResultRepository;
+import com.example.tetonam.image.repository.DrawingRepository;
+import com.example.tetonam.image.repository.DrawingResultRepository;
+import com.example.tetonam.outbox.domain.enums.OutboxEventType;
+import com.example.tetonam.outbox.dto.KakaoMessageDto;
+import com.example.tetonam.outbox.service.OutboxService;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import com.example.tetonam.util.aop.DistributedLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * AI 분석 작업 테이블(ai_job) 의 등록 / 가져가기 / 완료 처리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AiJobService {
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int MYSQL_DUPLICATE_KEY = 1062;
+
+    private final AiJobRepository aiJobRepository;
+    private final DrawingRepository drawingRepository;
+    private final DrawingResultRepository drawingResultRepository;
+    private final DrawingRagResultRepository drawingRagResultRepository;
+    private final OutboxService outboxService;
+
+    @Value("${ai.job.visibility-timeout-ms:600000}")
+    private long visibilityTimeoutMillis;
+
+    @Value("${ai.job.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${ai.job.retry-backoff-ms:5000}")
+    private long retryBackoffMillis;
+
+    // AI 서버 혼잡(circuit open / 대기열 가득)으로 거절된 작업을 다시 시도하기까지
+    @Value("${ai.job.busy-backoff-ms:30000}")
+    private long busyBackoffMillis;
+
+    @Value("${ai.job.orphan-lookback-days:7}")
+    private long orphanLookbackDays;
+
+    public void enqueuePredict(Drawing drawing) {
+        aiJobRepository.save(newJob(drawing, AiJobType.PREDICT, null));
+    }
+
+    // hasActiveJob 확인 뒤에 동시에 들어온 요청은 유니크 키 (drawing_id, active_type) 에서 걸러진다
+    public void enqueueRag(Drawing drawing, String question) {
+        try {
+            aiJobRepository.save(newJob(drawing, AiJobType.RAG, question));
+        } catch (DataIntegrityViolationException e) {
+            if (isActiveJobConflict(e)) {
+                throw new DrawingHandler(ErrorStatus.ALREADY_RAG);
+            }
+            throw e;
+        }
+    }
+
+    // 아직 끝나지 않은 같은 종류의 작업이 있는지
+    public boolean hasActiveJob(Drawing drawing, AiJobType type) {
+        return aiJobRepository.existsByDrawingAndTypeAndStatusIn(drawing, type,
+                List.of(AiJobStatus.PENDING, AiJobStatus.RUNNING));
+    }
+
+    /**
+     * 최대 limit 개의 작업을 RUNNING 으로 바꾸고 visibility timeout 을 건다.
+     * FOR UPDATE SKIP LOCKED 로 고르기 때문에 여러 인스턴스가 동시에 가져가도 겹치지 않는다.
+     */
+    @Transactional
+    public List<AiJobTask> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = aiJobRepository.findClaimableIds(now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String claimToken = UUID.randomUUID().toString();
+        List<AiJobTask> tasks = aiJobRepository.findAllWithDrawingByIdIn(ids).stream()
+                .map(job -> AiJobTask.of(job, claimToken))
+                .toList();
+        aiJobRepository.markRunning(ids, now.plusNanos(visibilityTimeoutMillis * 1_000_000L), claimToken);
+        return tasks;
+    }
+
+    /**
+     * 결과 저장과 작업 완료를 한 트랜잭션으로 처리한다.
+     * visibility timeout 이 지나 다른 워커가 다시 가져간 작업이면 (claimToken 불일치) 아무것도 하지 않는다.
+     * @return 이번 호출로 결과가 저장되었는지
+     */
+    @Transactional
+    public boolean complete(AiJobTask task, String result) {
+        if (aiJobRepository.finish(task.jobId(), task.claimToken(), AiJobStatus.DONE, LocalDateTime.now(), null) == 0) {
+            log.info("[AiJob] 이미 다른 워커가 가져간 작업: jobId = {}", task.jobId());
+            return false;
+        }
+        if (!saveResult(drawingRepository.getReferenceById(task.drawingId()), task.type(), result)) {
+            return false;
+        }
+        if (task.type() == AiJobType.RAG) {
+            outboxService.appendKakaoMessage(KakaoMessageDto.builder()
+                    .title("AI 결과가 도착했습니다")
+                    .detail(task.category()+"그림의 결과가 저장되었습니다. 확인해주세요")
+                    .url("https://i13e108.p.ssafy.io/counseling/image/"+task.drawingId())
+                    .img(task.previewUrl())
+                    .build());
+        }
+        return true;
+    }
+
+    /**
+     * 결과와 결과 알림(outbox)을 한 트랜잭션으로 저장한다. 캐시로 AI 서버를 거치지 않은 결과도 여기로 저장한다.
+     * 확인과 저장 사이에 다른 쪽이 먼저 저장하면 drawing_id 유니크 키에 걸려 트랜잭션 전체가 롤백되고,
+     * 작업은 재시도 때 이미 있는 결과를 보고 끝난다.
+     * @return 이미 결과가 있어서 저장하지 않았으면 false
+     */
+    @Transactional
+    public boolean saveResult(Drawing drawing, AiJobType type, String result) {
+        if (type == AiJobType.PREDICT) {
+            if (drawingResultRepository.findByDrawing(drawing.getId()).isPresent()) {
+                return false;
+            }
+            drawingResultRepository.save(DrawingResult.builder()
+                    .drawing(drawing)
+                    .drawingResult(result)
+                    .build());
+        } else {
+            if (drawingRagResultRepository.findByDrawing(drawing.getId()).isPresent()) {
+                return false;
+            }
+            drawingRagResultRepository.save(DrawingRagResult.builder()
+                    .drawing(drawing)
+                    .drawingRagResult(result)
+                    .build());
+        }
+        outboxService.append(OutboxEventType.AI_RESULT, AiResultNotifier.toMessage(drawing.getId(), type));
+        return true;
+    }
+
+    // max-attempts 전까지는 지수 backoff 후 다시 PENDING, 넘으면 FAILED
+    @Transactional
+    public void fail(AiJobTask task, Throwable error) {
+        LocalDateTime now = LocalDateTime.now();
+        // 디스패처가 보내지도 않고 거절한 경우는 시도 횟수에 넣지 않는다 (짧은 장애로 FAILED 가 되지 않도록)
+        if (isServerBusy(error)) {
+            aiJobRepository.release(task.jobId(), task.claimToken(), now.plusNanos(busyBackoffMillis * 1_000_000L));
+            log.info("[AiJob] AI 서버 혼잡, {}ms 후 재시도: jobId = {}", busyBackoffMillis, task.jobId());
+            return;
+        }
+        String message = String.valueOf(error.getMessage());
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        if (task.attempts() >= maxAttempts) {
+            aiJobRepository.finish(task.jobId(), task.claimToken(), AiJobStatus.FAILED, now, message);
+            log.error("[AiJob] 재시도 횟수 초과로 실패 처리: jobId = {}, drawingId = {}, type = {}",
+                    task.jobId(), task.drawingId(), task.type(), error);
+            return;
+        }
+        long backoff = retryBackoffMillis << Math.min(task.attempts() - 1, 10);
+        aiJobRepository.finish(task.jobId(), task.claimToken(), AiJobStatus.PENDING, now.plusNanos(backoff * 1_000_000L), message);
+        log.warn("[AiJob] 실패, {}ms 후 재시도: jobId = {}, attempts = {}", backoff, task.jobId(), task.attempts());
+    }
+
+    /**
+     * 기동 시, 그리고 ai.job.orphan-interval-ms 마다: 결과가 없는 최근 그림의 작업을 다시 살린다.
+     * 1. 종류별 마지막 작업이 FAILED 인 객체탐지 / RAG 작업은 시도 횟수를 초기화해서 다시 PENDING
+     * 2. 그래도 진행 중인 객체탐지 작업이 없는 그림(작업 등록 전에 죽은 경우)에는 새 작업을 만든다.
+     * (RUNNING 인 채로 남은 작업은 visibility timeout 이 지나면 claim 에서 다시 가져간다)
+     * 여러 인스턴스가 동시에 떠도 한 번만 돌도록 분산락을 건다.
+     */
+    @DistributedLock(key = "'AI_JOB:ORPHANS'", waitTime = 0L)
+    public void enqueueOrphans() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = now.minusDays(orphanLookbackDays);
+
+        List<Long> failedIds = aiJobRepository.findRequeueableFailedIds(from);
+        if (!failedIds.isEmpty()) {
+            int requeued = aiJobRepository.requeueFailed(failedIds, now);
+            log.info("[AiJob] 실패했던 작업 {}건 재시도", requeued);
+        }
+
+        List<Drawing> orphans = drawingRepository.findWithoutResultOrActiveJobSince(from, AiJobType.PREDICT);
+        int enqueued = 0;
+        for (Drawing drawing : orphans) {
+            // 조회 뒤에 다른 쪽이 작업을 만들었으면 유니크 키에 걸리므로 건너뛴다 (한 건씩 저장해서 나머지는 진행)
+            try {
+                aiJobRepository.save(newJob(drawing, AiJobType.PREDICT, null));
+                enqueued++;
+            } catch (DataIntegrityViolationException e) {
+                if (!isActiveJobConflict(e)) {
+                    throw e;
+                }
+                log.info("[AiJob] 이미 진행 중인 작업이 있어 건너뜀: drawingId = {}", drawing.getId());
+            }
+        }
+        if (enqueued > 0) {
+            log.info("[AiJob] 작업이 없던 그림 {}건 재등록", enqueued);
+        }
+    }
+
+    // 다른 제약 위반까지 중복 작업으로 보지 않도록 제약 이름으로 구분한다
+    private static boolean isActiveJobConflict(DataIntegrityViolationException e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase().contains(AiJob.UK_DRAWING_ACTIVE_TYPE);
+            }
+            // 제약 이름을 못 꺼낸 경우 MySQL duplicate key(1062) 메시지의 인덱스 이름으로 확인
+            if (cause instanceof SQLException sqlException && sqlException.getErrorCode() == MYSQL_DUPLICATE_KEY) {
+                return String.valueOf(sqlException.getMessage()).toLowerCase().contains(AiJob.UK_DRAWING_ACTIVE_TYPE);
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private static boolean isServerBusy(Throwable error) {
+        return error instanceof DrawingHandler drawingHandler && drawingHandler.getCode() == ErrorStatus.AI_SERVER_BUSY;
+    }
+
+    private static AiJob newJob(Drawing drawing, AiJobType type, String question) {
+        return AiJob.builder()
+                .type(type)
+                .status(AiJobStatus.PENDING)
+                .drawing(drawing)
+                .question(question)
+                .attempts(0)
+                .nextRunAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.tetonam.image.service;
+
+import com.example.tetonam.image.domain.AiJob;
+import com.example.tetonam.image.domain.Drawing;
+import com.example.tetonam.image.domain.enums.AiJobType;
+import com.example.tetonam.image.service.enums.DrawingCategory;
+
+/**
+ * 워커가 트랜잭션 밖에서 쓰는 작업 정보 (가져간 시점의 스냅샷)
+ */
+public record AiJobTask(long jobId, String claimToken, AiJobType type, int attempts,
+                        long drawingId, long drawingListId, DrawingCategory category, String aiImageUrl, String previewUrl,
+                        String question) {
+
+    public static AiJobTask of(AiJob job, String claimToken) {
+        Drawing drawing = job.getDrawing();
+        return new AiJobTask(job.getId(), claimToken, job.getType(), job.getAttempts() + 1,
+                drawing.getId(), drawing.getDrawingList().getId(), drawing.getDrawingCategory(),
+                drawing.getAiInputUrl() != null ? drawing.getAiInputUrl() : drawing.getImageUrl(),
+                drawing.getThumbnailUrl() != null ? drawing.getThumbnailUrl() : drawing.getImageUrl(),
+                job.getQuestion());
+    }
+}
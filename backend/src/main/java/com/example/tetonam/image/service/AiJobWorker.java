@@ -0,0 +1,180 @@
+package com.example.tetonam.image.service;
+
+import com.example.tetonam.image.domain.enums.AiJobType;
+import com.example.tetonam.image.dto.LLMRequestDto;
+import com.example.tetonam.image.dto.PredictBatchItemDto;
+import com.example.tetonam.image.dto.PredictBatchRequestDto;
+import com.example.tetonam.image.dto.PredictBatchResultDto;
+import com.example.tetonam.util.WebClientUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ai_job 을 가져가서 AI 서버 호출 -> 결과 저장까지 처리하는 워커 (Scheduler 가 주기적으로 poll 호출)
+ * 인스턴스당 동시에 처리하는 작업 수는 ai.job.workers 로 조절한다.
+ * AI 서버 응답 이후의 저장 / 캐시 작업은 persistenceScheduler 에서 돈다. (netty event loop 를 막지 않도록)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiJobWorker {
+    private final AiJobService aiJobService;
+    private final AiInferenceDispatcher aiInferenceDispatcher;
+    private final WebClientUtil webClientUtil;
+    private final ObjectMapper objectMapper;
+    private final RagAnswerCache ragAnswerCache;
+    private final Scheduler persistenceScheduler;
+    private final AtomicInteger running = new AtomicInteger();
+    // 배치 엔드포인트가 404 를 준 뒤 다시 시도하기 전까지는 한 장씩 보낸다
+    private final AtomicLong batchDisabledUntil = new AtomicLong();
+
+    @Value("${ai.server.url}")
+    private String AI_SERVER_URL;
+
+    @Value("${ai.job.workers:4}")
+    private int workers;
+
+    // AI 서버가 /predict/batch_s3 를 지원할 때 켠다
+    @Value("${ai.job.batch-predict:false}")
+    private boolean batchPredict;
+
+    // AI 서버가 배포되면서 배치 엔드포인트가 생길 수 있으므로 영구히 끄지 않고 이 시간 뒤에 다시 시도한다
+    @Value("${ai.job.batch-retry-after-ms:600000}")
+    private long batchRetryAfterMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOrphans() {
+        aiJobService.enqueueOrphans();
+    }
+
+    public void poll() {
+        int free = workers - running.get();
+        if (free <= 0) {
+            return;
+        }
+        List<AiJobTask> tasks = aiJobService.claim(free);
+        if (!batchPredict || System.currentTimeMillis() < batchDisabledUntil.get()) {
+            tasks.forEach(this::runSingle);
+            return;
+        }
+
+        // 같은 DrawingList 의 객체탐지 작업은 한 번의 배치 요청으로 묶는다
+        Map<Long, List<AiJobTask>> predictGroups = new LinkedHashMap<>();
+        for (AiJobTask task : tasks) {
+            if (task.type() == AiJobType.PREDICT) {
+                predictGroups.computeIfAbsent(task.drawingListId(), id -> new ArrayList<>()).add(task);
+            } else {
+                runSingle(task);
+            }
+        }
+        for (List<AiJobTask> group : predictGroups.values()) {
+            if (group.size() == 1) {
+                runSingle(group.get(0));
+            } else {
+                runBatch(group);
+            }
+        }
+    }
+
+    private void runSingle(AiJobTask task) {
+        running.incrementAndGet();
+        call(task)
+                .doFinally(signal -> running.decrementAndGet())
+                .subscribe(result -> onSuccess(task, result),
+                        error -> aiJobService.fail(task, error));
+    }
+
+    /**
+     * /predict/batch_s3 로 한 번에 보내고 결과를 요청 순서대로 각 작업에 나눠 저장한다.
+     * AI 서버에 배치 엔드포인트가 없으면(404) 한 장씩 보내는 방식으로 되돌아가고, batch-retry-after-ms 동안은 배치를 쓰지 않는다.
+     */
+    private void runBatch(List<AiJobTask> group) {
+        PredictBatchRequestDto predictBatchRequestDto = PredictBatchRequestDto.builder()
+                .items(group.stream()
+                        .map(task -> PredictBatchItemDto.builder()
+                                .url(task.aiImageUrl())
+                                .category(task.category().toString())
+                                .build())
+                        .toList())
+                .build();
+
+        running.addAndGet(group.size());
+        aiInferenceDispatcher.dispatch("predict-batch",
+                        () -> webClientUtil.post(AI_SERVER_URL+"/predict/batch_s3", predictBatchRequestDto, PredictBatchResultDto[].class))
+                .publishOn(persistenceScheduler)
+                .doFinally(signal -> running.addAndGet(-group.size()))
+                .subscribe(results -> {
+                    for (int i = 0; i < group.size(); i++) {
+                        AiJobTask task = group.get(i);
+                        PredictBatchResultDto result = i < results.length ? results[i] : null;
+                        if (result == null || result.getResult() == null) {
+                            aiJobService.fail(task, new IllegalStateException(
+                                    result == null ? "배치 응답 누락" : result.getError()));
+                        } else {
+                            onSuccess(task, toSingleResponseBody(result.getResult()));
+                        }
+                    }
+                }, error -> {
+                    if (error instanceof WebClientResponseException.NotFound) {
+                        batchDisabledUntil.set(System.currentTimeMillis() + batchRetryAfterMillis);
+                        log.warn("[AiJob] AI 서버에 배치 엔드포인트가 없어 {}ms 동안 한 장씩 요청합니다", batchRetryAfterMillis);
+                        group.forEach(this::runSingle);
+                        return;
+                    }
+                    group.forEach(task -> aiJobService.fail(task, error));
+                });
+    }
+
+    // /predict/json_s3 응답 본문(JSON 문자열)과 같은 형태로 저장해서 조회 API 의 응답이 달라지지 않게 한다
+    private String toSingleResponseBody(String result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Mono<String> call(AiJobTask task) {
+        if (task.type() == AiJobType.PREDICT) {
+            String url = AI_SERVER_URL+"/predict/json_s3?url=" + task.aiImageUrl() + "&category=" + task.category();
+            return aiInferenceDispatcher.dispatch("predict", () -> webClientUtil.post(url, "", String.class))
+                    .publishOn(persistenceScheduler);
+        }
+        // 작업이 대기하는 동안 같은 코멘트의 답변이 캐시에 들어왔을 수 있다
+        Optional<String> cached = ragAnswerCache.get(task.category(), task.question());
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
+        }
+        LLMRequestDto llmRequestDto=LLMRequestDto.toDto(task.question(),task.category().toString());
+        return aiInferenceDispatcher.dispatch("llm", () -> webClientUtil.post(AI_SERVER_URL+"/llm", llmRequestDto, String.class))
+                .publishOn(persistenceScheduler)
+                .doOnNext(answer -> ragAnswerCache.put(task.category(), task.question(), answer));
+    }
+
+    private void onSuccess(AiJobTask task, String result) {
+        try {
+            // 결과 알림(SSE / 카카오)은 같은 트랜잭션에서 outbox 에 남기고 OutboxRelay 가 보낸다
+            aiJobService.complete(task, result);
+        } catch (RuntimeException e) {
+            // 저장에 실패하면 작업은 RUNNING 으로 남고 visibility timeout 뒤에 다시 처리된다
+            log.error("[AiJob] 결과 저장 실패: jobId = {}, drawingId = {}", task.jobId(), task.drawingId(), e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.tetonam.image.service;
+
+import com.example.tetonam.image.domain.enums.AiJobType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * AI 결과(객체탐지 / RAG) 저장 알림을 SSE 로 내려준다.
+ * 결과를 저장한 인스턴스와 클라이언트가 연결된 인스턴스가 다를 수 있으므로
+ * 저장 시 outbox 에 남긴 "drawingId:타입" 을 OutboxRelay 가 Redis 채널에 발행하고,
+ * 모든 인스턴스가 구독해서 자기에게 연결된 emitter 에만 보낸다.
+ * 결과가 늦게 나오는 동안 nginx proxy_read_timeout(60초)에 연결이 끊기지 않도록 Scheduler 가 주기적으로 heartbeat 를 부른다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiResultNotifier implements MessageListener {
+    private static final String CHANNEL = "AI:RESULT";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    // 그림 ID -> 이 인스턴스에 연결된 SSE
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    @Value("${ai.result.sse-timeout-ms:300000}")
+    private long sseTimeoutMillis;
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public SseEmitter subscribe(long drawingId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        Set<SseEmitter> drawingEmitters = emitters.computeIfAbsent(drawingId, id -> new CopyOnWriteArraySet<>());
+        drawingEmitters.add(emitter);
+        Runnable remove = () -> removeEmitter(drawingId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        // 연결 직후 한 번 보내서 프록시가 응답 헤더를 바로 흘려보내게 한다
+        send(drawingId, emitter, "CONNECTED");
+        return emitter;
+    }
+
+    // outbox AI_RESULT 이벤트의 payload
+    public static String toMessage(long drawingId, AiJobType type) {
+        return drawingId + ":" + type.name();
+    }
+
+    // 실패하면 예외를 그대로 던져서 OutboxRelay 가 다시 보내게 한다
+    public void publish(String message) {
+        redisTemplate.convertAndSend(CHANNEL, message);
+    }
+
+    // 이 인스턴스에 연결된 구독자에게만 보낸다 (구독 시점에 이미 결과가 있던 경우)
+    public void notifyLocal(long drawingId, AiJobType type) {
+        Set<SseEmitter> drawingEmitters = emitters.get(drawingId);
+        if (drawingEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : drawingEmitters) {
+            send(drawingId, emitter, type.name());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            notifyLocal(Long.parseLong(body.substring(0, separator)), AiJobType.valueOf(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("[AiResultNotifier] 알 수 없는 메시지: {}", body, e);
+        }
+    }
+
+    // 이벤트가 아닌 SSE 주석(": heartbeat") 이라 클라이언트의 이벤트 핸들러에는 잡히지 않는다
+    public void heartbeat() {
+        emitters.forEach((drawingId, drawingEmitters) -> {
+            for (SseEmitter emitter : drawingEmitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    removeEmitter(drawingId, emitter);
+                }
+            }
+        });
+    }
+
+    private void send(long drawingId, SseEmitter emitter, String eventName) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(drawingId));
+        } catch (IOException | IllegalStateException e) {
+            removeEmitter(drawingId, emitter);
+        }
+    }
+
+    private void removeEmitter(long drawingId, SseEmitter emitter) {
+        emitters.computeIfPresent(drawingId, (id, drawingEmitters) -> {
+            drawingEmitters.remove(emitter);
+            return drawingEmitters.isEmpty() ? null : drawingEmitters;
+        });
+    }
+}
@@ -1,84 +0,0 @@
-package com.example.tetonam.image.service;
-
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.DeleteObjectRequest;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
-import com.example.tetonam.exception.handler.AWSHandler;
-import com.example.tetonam.exception.handler.UserHandler;
-import com.example.tetonam.response.code.status.ErrorStatus;
-import com.example.tetonam.user.domain.User;
-import com.example.tetonam.user.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
-import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.server.ResponseStatusException;
-
-import java.io.IOException;
-import java.io.InputStream;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-
-@Service
-@RequiredArgsConstructor
-public class AwsS3Service {
-    @Value("${cloud.aws.s3.bucket}")
-    private String bucket;
-
-    @Value("${cloud.aws.url}")
-    private String url;
- 
-    private final AmazonS3 amazonS3;
-
-    public List<String> uploadFile(List<MultipartFile> multipartFiles,String email){
-
-        List<String> fileNameList = new ArrayList<>();
-        String date = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-
-
-        // forEach 구문을 통해 multipartFiles 리스트로 넘어온 파일들을 순차적으로 fileNameList 에 추가
-        multipartFiles.forEach(file -> {
-            String fileName = email+"/"+date+"/"+createFileName(file.getOriginalFilename());
-            ObjectMetadata objectMetadata = new ObjectMetadata();
-            objectMetadata.setContentLength(file.getSize());
-            objectMetadata.setContentType(file.getContentType());
- 
-            try(InputStream inputStream = file.getInputStream()){
-                amazonS3.putObject(new PutObjectRequest(bucket, fileName, inputStream, objectMetadata)
-                        .withCannedAcl(CannedAccessControlList.PublicRead));
-            } catch (IOException e){
-                throw new AWSHandler(ErrorStatus.IMAGE_NOT_SAVE);
-            }
-            fileNameList.add(url+"/"+fileName);
- 
-        });
- 
-        return fileNameList;
-    }
- 
-    // 파일명을 난수화하기 위해 UUID 를 활용하여 난수를 돌린다.
-    public String createFileName(String fileName){
-        return UUID.randomUUID().toString().concat(getFileExtension(fileName));
-    }
- 
-    //  "."의 존재 유무만 판단
-    private String getFileExtension(String fileName){
-        try{
-            return fileName.substring(fileName.lastIndexOf("."));
-        } catch (StringIndexOutOfBoundsException e){
-            throw new AWSHandler(ErrorStatus.FILE_NOT_VALID);
-        }
-    }
- 
- 
-    public void deleteFile(String fileName){
-        amazonS3.deleteObject(new DeleteObjectRequest(bucket, fileName));
-        System.out.println(bucket);
-    }
-}
\ No newline at end of file
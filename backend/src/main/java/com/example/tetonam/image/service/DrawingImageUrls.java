@@ -0,0 +1,7 @@
+package com.example.tetonam.image.service;
+
+/**
+ * 저장된 그림 한 장의 원본 / 썸네일 / AI 입력용 URL (변환에 실패한 크기는 null) 과 원본 SHA-256
+ */
+public record DrawingImageUrls(String imageUrl, String thumbnailUrl, String aiInputUrl, String contentHash) {
+}
@@ -0,0 +1,224 @@
+package com.example.tetonam.image.service;
+
+import com.example.tetonam.exception.handler.AWSHandler;
+import com.example.tetonam.image.service.storage.ObjectStorage;
+import com.example.tetonam.image.service.storage.StorageObject;
+import jakarta.annotation.PreDestroy;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 그림 원본으로 썸네일 / AI 입력용 크기의 JPEG 를 만들어 저장한다.
+ * 그림마다 한 번만 디코딩해서 AI 입력용 -> 썸네일 순으로 줄이고, 그림끼리는 전용 스레드풀에서 동시에 처리한다.
+ * 변환에 실패해도 그림 저장은 막지 않는다. (해당 URL 만 null, 조회 시 원본으로 대체)
+ * 디코딩 전에 헤더의 가로 / 세로를 먼저 읽어 max-pixels 를 넘는 그림(압축 폭탄 등)은 풀지 않고,
+ * AI 입력용보다 큰 만큼은 ImageReadParam subsampling 으로 읽으면서 건너뛰어 메모리에 원본 크기로 올리지 않는다.
+ */
+@Slf4j
+@Component
+public class DrawingImageVariants {
+    private static final String FORMAT = "jpg";
+    private static final String CONTENT_TYPE = "image/jpeg";
+
+    static {
+        // 디코딩 중간 결과를 임시 파일이 아닌 메모리에 둔다
+        ImageIO.setUseCache(false);
+    }
+
+    private final ObjectStorage objectStorage;
+    private final ExecutorService executor;
+    private final int thumbnailPx;
+    private final int aiInputPx;
+    private final long maxPixels;
+
+    public DrawingImageVariants(ObjectStorage objectStorage,
+                                @Value("${drawing.variant.threads:4}") int threads,
+                                @Value("${drawing.variant.thumbnail-px:320}") int thumbnailPx,
+                                @Value("${drawing.variant.ai-input-px:1024}") int aiInputPx,
+                                @Value("${drawing.variant.max-pixels:40000000}") long maxPixels) {
+        this.objectStorage = objectStorage;
+        this.thumbnailPx = thumbnailPx;
+        this.aiInputPx = aiInputPx;
+        this.maxPixels = maxPixels;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "drawing-variant-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 원본마다 변환을 바로 시작한다. 반환된 future 는 예외 없이 항상 DrawingImageUrls 로 끝난다.
+     */
+    public List<CompletableFuture<DrawingImageUrls>> createAsync(List<StorageObject> originals) {
+        return originals.stream()
+                .map(original -> CompletableFuture.supplyAsync(() -> create(original), executor)
+                        .exceptionally(e -> {
+                            log.warn("[DrawingImageVariants] 변환 실패, 원본만 사용: key = {}", original.key(), e);
+                            return new DrawingImageUrls(objectStorage.urlOf(original.key()), null, null, null);
+                        }))
+                .toList();
+    }
+
+    /**
+     * 헤더만 읽어서 가로 x 세로가 max-pixels 를 넘으면 AWSHandler(IMAGE_TOO_LARGE) 를 던진다.
+     * 읽을 수 없는 형식은 여기서 막지 않는다. (변환 단계에서 원본만 사용)
+     */
+    public void checkDimensions(InputStreamSource source) {
+        try (InputStream inputStream = source.getInputStream();
+             ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            ImageReader reader = readerOf(imageInputStream);
+            if (reader == null) {
+                return;
+            }
+            try {
+                checkPixels(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private DrawingImageUrls create(StorageObject original) {
+        String imageUrl = objectStorage.urlOf(original.key());
+        BufferedImage image;
+        // 디코딩하면서 같이 읽은 바이트로 SHA-256 을 계산한다 (ImageIO 가 끝까지 읽지 않을 수 있어 남은 부분은 흘려보냄)
+        MessageDigest digest = ContentHash.newDigest();
+        try (DigestInputStream inputStream = new DigestInputStream(original.source().getInputStream(), digest)) {
+            image = decode(inputStream);
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String contentHash = ContentHash.toHex(digest);
+        if (image == null) {
+            log.warn("[DrawingImageVariants] 읽을 수 없는 이미지 형식: key = {}", original.key());
+            return new DrawingImageUrls(imageUrl, null, null, contentHash);
+        }
+
+        BufferedImage aiInput = fit(image, aiInputPx);
+        BufferedImage thumbnail = fit(aiInput, thumbnailPx);
+        List<String> urls = objectStorage.putAll(List.of(
+                encode(variantKey(original.key(), "ai"), aiInput),
+                encode(variantKey(original.key(), "thumb"), thumbnail)));
+        return new DrawingImageUrls(imageUrl, urls.get(1), urls.get(0), contentHash);
+    }
+
+    // 크기 확인 후 긴 변이 AI 입력용의 정수배를 넘는 만큼 건너뛰며 읽는다 (남은 축소는 fit 에서 보간)
+    private BufferedImage decode(InputStream inputStream) throws IOException {
+        // ImageInputStream 을 닫아도 원래 스트림은 닫히지 않는다
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            ImageReader reader = readerOf(imageInputStream);
+            if (reader == null) {
+                return null;
+            }
+            try {
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                checkPixels(width, height);
+                int step = Math.max(1, Math.max(width, height) / aiInputPx);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static ImageReader readerOf(ImageInputStream imageInputStream) {
+        if (imageInputStream == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(imageInputStream, true, true);
+        return reader;
+    }
+
+    private void checkPixels(int width, int height) {
+        if ((long) width * height > maxPixels) {
+            throw new AWSHandler(ErrorStatus.IMAGE_TOO_LARGE);
+        }
+    }
+
+    // 긴 변이 maxPx 를 넘지 않도록 비율 유지 축소, 투명 배경은 흰색으로 채운다 (JPEG 는 알파가 없음)
+    private static BufferedImage fit(BufferedImage source, int maxPx) {
+        double scale = Math.min(1.0, (double) maxPx / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static StorageObject encode(String key, BufferedImage image) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, FORMAT, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] bytes = outputStream.toByteArray();
+        return new StorageObject(key, new ByteArrayResource(bytes), bytes.length, CONTENT_TYPE);
+    }
+
+    /**
+     * 원본 key 로 만들어지는 객체 key 전부 (원본, AI 입력용, 썸네일 순)
+     */
+    public List<String> keysOf(String originalKey) {
+        return List.of(originalKey, variantKey(originalKey, "ai"), variantKey(originalKey, "thumb"));
+    }
+
+    // email/2025/08/01/uuid.png -> email/2025/08/01/uuid_thumb.jpg
+    private static String variantKey(String key, String suffix) {
+        int dot = key.lastIndexOf('.');
+        String base = dot > key.lastIndexOf('/') ? key.substring(0, dot) : key;
+        return base + "_" + suffix + "." + FORMAT;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
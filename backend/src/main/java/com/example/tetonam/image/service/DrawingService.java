@@ -9,83 +9,81 @@ import com.example.tetonam.image.domain.Drawing;
 import com.example.tetonam.image.domain.DrawingList;
 import com.example.tetonam.image.domain.DrawingRagResult;
 import com.example.tetonam.image.domain.DrawingResult;
+import com.example.tetonam.image.domain.enums.AiJobType;
 import com.example.tetonam.image.dto.CounselingRagRequestDto;
-import com.example.tetonam.image.dto.LLMRequestDto;
 import com.example.tetonam.image.dto.RecentDrawingResponseDto;
 import com.example.tetonam.image.repository.DrawingListRepository;
 import com.example.tetonam.image.repository.DrawingRagResultRepository;
 import com.example.tetonam.image.repository.DrawingRepository;
 import com.example.tetonam.image.repository.DrawingResultRepository;
 import com.example.tetonam.image.service.enums.DrawingCategory;
-import com.example.tetonam.kakao.service.KakaoService;
 import com.example.tetonam.response.code.status.ErrorStatus;
 import com.example.tetonam.user.domain.User;
 import com.example.tetonam.user.domain.enums.Role;
 import com.example.tetonam.user.repository.UserRepository;
-import com.example.tetonam.util.WebClientUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DrawingService {
     private final UserRepository userRepository;
-    private final AwsS3Service awsS3Service;
     private final DrawingRepository drawingRepository;
     private final DrawingListRepository drawingListRepository;
-    private final WebClientUtil webClientUtil;
+    private final AiJobService aiJobService;
+    private final AiResultNotifier aiResultNotifier;
+    private final RagAnswerCache ragAnswerCache;
     private final DrawingResultRepository drawingResultRepository;
     private final DrawingRagResultRepository drawingRagResultRepository;
-    @Value("${ai.server.url}")
-    private String AI_SERVER_URL;
-    private final KakaoService kakaoService;
 
     private final CounselingImageRepository counselingImageRepository;
+    /**
+     * 저장소에 올라간 그림 4장(집, 나무, 사람1, 사람2 순)을 DrawingList 로 저장하고 AI 분석 작업(ai_job)을 등록한다.
+     * 그림과 작업을 한 트랜잭션으로 커밋해서, 고아 작업 복구(enqueueOrphans)가 작업 없는 그림을 보고 한 번 더 등록하지 않게 한다.
+     */
     @Transactional
-    public String createDrawing(String email, List<MultipartFile> multipartFile) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
-        List<String> fileNameList = awsS3Service.uploadFile(multipartFile, user.getEmail());
-        DrawingList drawingList=drawingListRepository.save(DrawingList.builder()
-                .user(user).build());
-
-
+    public DrawingList registerDrawings(User user, List<DrawingImageUrls> imageUrlsList) {
+        DrawingList drawingList = DrawingList.builder()
+                .user(user)
+                .drawings(new ArrayList<>())
+                .build();
         for(int i=0;i<4;i++){
-            Drawing drawing =Drawing.builder()
-                    .imageUrl(fileNameList.get(i))
+            drawingList.getDrawings().add(Drawing.builder()
+                    .imageUrl(imageUrlsList.get(i).imageUrl())
+                    .thumbnailUrl(imageUrlsList.get(i).thumbnailUrl())
+                    .aiInputUrl(imageUrlsList.get(i).aiInputUrl())
+                    .contentHash(imageUrlsList.get(i).contentHash())
                     .drawingList(drawingList)
                     .drawingCategory(DrawingCategory.values()[i])
-                    .build();
-            drawingRepository.save(drawing);
-            drawingResult(drawing);
+                    .build());
         }
+        drawingListRepository.save(drawingList);
 
-        return "그림이 저장되었습니다";
+        for (Drawing drawing : drawingList.getDrawings()) {
+            drawingResult(drawing);
+        }
+        return drawingList;
     }
 
     public void drawingResult(Drawing drawing){
-        String imageUrl=drawing.getImageUrl();
-//        String category="house";
-        String category=drawing.getDrawingCategory().toString();
-        String url = AI_SERVER_URL+"/predict/json_s3?url=" + imageUrl + "&category=" + category;
-
-        System.out.println(url);
-        webClientUtil.post(url, "", String.class)
-                .subscribe(result -> {
-                    drawingResultRepository.save(DrawingResult.builder()
-                                    .drawing(drawing)
-                                    .drawingResult(result)
-                            .build());
-                }, error -> {
-                    error.printStackTrace();
-                });
+        // 같은 파일 + 같은 카테고리로 이미 분석한 결과가 있으면 AI 서버를 부르지 않고 재사용
+        if (drawing.getContentHash() != null) {
+            Optional<DrawingResult> cached = drawingResultRepository
+                    .findFirstByDrawingContentHashAndDrawingDrawingCategoryOrderByIdAsc(drawing.getContentHash(), drawing.getDrawingCategory());
+            if (cached.isPresent()) {
+                aiJobService.saveResult(drawing, AiJobType.PREDICT, cached.get().getDrawingResult());
+                return;
+            }
+        }
+        aiJobService.enqueuePredict(drawing);
     }
 
     // 최근그림 반환
@@ -108,23 +106,15 @@ public class DrawingService {
     }
 
 
-    //rag로 통신
-    public void drawingRagResult(Drawing drawing, String question, String category){
-
-        String url = AI_SERVER_URL+"/llm";
-
-        LLMRequestDto llmRequestDto=LLMRequestDto.toDto(question,category);
-        webClientUtil.post(url, llmRequestDto, String.class)
-                .subscribe(result -> {
-                    drawingRagResultRepository.save(DrawingRagResult.builder()
-                                    .drawing(drawing)
-                                    .drawingRagResult(result)
-                            .build());
-
-                    kakaoService.sendMessage("AI 결과가 도착했습니다",category+"그림의 결과가 저장되었습니다. 확인해주세요","https://i13e108.p.ssafy.io/counseling/image/"+drawing.getId(),drawing.getImageUrl());
-                }, error -> {
-                    log.error("RAG 저장 중 에러 발생", error);
-                });
+    // rag 작업 등록 (AiJobWorker 가 처리하고 결과가 저장되면 카카오 메시지를 보낸다)
+    public void drawingRagResult(Drawing drawing, String question){
+        // 같은 카테고리에 같은 코멘트로 받은 답변이 있으면 LLM 을 부르지 않고 바로 저장
+        Optional<String> cached = ragAnswerCache.get(drawing.getDrawingCategory(), question);
+        if (cached.isPresent()) {
+            aiJobService.saveResult(drawing, AiJobType.RAG, cached.get());
+            return;
+        }
+        aiJobService.enqueueRag(drawing, question);
     }
 
 
@@ -135,12 +125,11 @@ public class DrawingService {
                 .orElseThrow(()-> new DrawingHandler(ErrorStatus.DRAWING_NOT_FOUND));
 
         // 이미 생성되어있을 때
-        if(drawing.getDrawingRagResult()!=null){
+        if(drawing.getDrawingRagResult()!=null || aiJobService.hasActiveJob(drawing, AiJobType.RAG)){
             throw new DrawingHandler(ErrorStatus.ALREADY_RAG);
         }
-        // 여기 예외처리 해줘야할듯 이미 생성됐을시
 
-        drawingRagResult(drawing,counselingRagRequestDto.getComment(),drawing.getDrawingCategory().toString());
+        drawingRagResult(drawing,counselingRagRequestDto.getComment());
         return "저장되었습니다.";
     }
 
@@ -159,6 +148,29 @@ public class DrawingService {
         return drawingRagResult.getDrawingRagResult();
     }
 
+    /**
+     * 그림의 AI 결과 저장 알림 구독 (SSE)
+     * 구독 전에 이미 저장된 결과는 바로 알려서 클라이언트가 조회 한 번으로 끝낼 수 있게 한다.
+     */
+    public SseEmitter subscribeAiResult(String email, Long id) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
+        Drawing drawing=drawingRepository.findById(id)
+                .orElseThrow(()-> new DrawingHandler(ErrorStatus.DRAWING_NOT_FOUND));
+        if (!user.hasRole(user, Role.COUNSELOR)&&!drawing.getDrawingList().getUser().equals(user)){
+            throw new DrawingHandler(ErrorStatus.DRAWING_NOT_VALID);
+        }
+
+        SseEmitter emitter = aiResultNotifier.subscribe(drawing.getId());
+        if (drawingResultRepository.findByDrawing(id).isPresent()) {
+            aiResultNotifier.notifyLocal(drawing.getId(), AiJobType.PREDICT);
+        }
+        if (drawingRagResultRepository.findByDrawing(id).isPresent()) {
+            aiResultNotifier.notifyLocal(drawing.getId(), AiJobType.RAG);
+        }
+        return emitter;
+    }
+
     public String objectDetectionImage(String email, Long id) {
         userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
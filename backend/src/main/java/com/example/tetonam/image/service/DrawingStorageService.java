@@ -0,0 +1,114 @@
+package com.example.tetonam.image.service;
+
+import com.example.tetonam.exception.handler.AWSHandler;
+import com.example.tetonam.image.domain.Drawing;
+import com.example.tetonam.image.repository.DrawingRepository;
+import com.example.tetonam.image.service.storage.ObjectStorage;
+import com.example.tetonam.image.service.storage.StorageObject;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import com.example.tetonam.user.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 그림 파일의 저장 key 를 정하고 ObjectStorage 에 저장한다. (email/yyyy/MM/dd/UUID.확장자)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DrawingStorageService {
+    private final ObjectStorage objectStorage;
+    private final DrawingImageVariants drawingImageVariants;
+    private final DrawingRepository drawingRepository;
+
+    /**
+     * 원본 업로드와 썸네일 / AI 입력용 변환을 동시에 진행하고, SHA-256 은 업로드하면서 흘러가는 바이트로 같이 구한다.
+     * (해시만을 위해 파일을 한 번 더 읽지 않는다)
+     * 같은 사용자가 전에 올린 것과 같은 파일이면 방금 올린 객체는 지우고 저장된 URL 을 그대로 쓴다.
+     * (해시는 다 올린 뒤에야 나오므로 아끼는 것은 저장 공간뿐이고 업로드는 그대로 한다. 업로드까지 아끼려면 직접 업로드 경로를 쓴다)
+     */
+    public List<DrawingImageUrls> uploadFile(List<MultipartFile> multipartFiles, User user) {
+        List<StorageObject> uploads = new ArrayList<>();
+        List<StorageObject> sources = new ArrayList<>();
+        List<MessageDigest> digests = new ArrayList<>();
+        for (MultipartFile file : multipartFiles) {
+            drawingImageVariants.checkDimensions(file);
+            String key = createKey(user.getEmail(), file.getOriginalFilename());
+            MessageDigest digest = ContentHash.newDigest();
+            digests.add(digest);
+            // 저장소는 source 를 한 번만 열어서 끝까지 읽는다 (재시도 시에는 SDK 가 자기 버퍼에서 다시 읽음)
+            uploads.add(new StorageObject(key, () -> new DigestInputStream(file.getInputStream(), digest),
+                    file.getSize(), file.getContentType()));
+            sources.add(new StorageObject(key, file, file.getSize(), file.getContentType()));
+        }
+
+        List<CompletableFuture<DrawingImageUrls>> variants = drawingImageVariants.createAsync(sources);
+        objectStorage.putAll(uploads);
+
+        List<DrawingImageUrls> result = new ArrayList<>();
+        for (int i = 0; i < uploads.size(); i++) {
+            String contentHash = ContentHash.toHex(digests.get(i));
+            DrawingImageUrls urls = variants.get(i).join();
+            Optional<Drawing> stored = drawingRepository.findFirstByContentHashAndDrawingListUserOrderByIdAsc(contentHash, user);
+            if (stored.isPresent()) {
+                drawingImageVariants.keysOf(uploads.get(i).key()).forEach(objectStorage::delete);
+                result.add(new DrawingImageUrls(stored.get().getImageUrl(), stored.get().getThumbnailUrl(),
+                        stored.get().getAiInputUrl(), contentHash));
+            } else {
+                result.add(new DrawingImageUrls(urls.imageUrl(), urls.thumbnailUrl(), urls.aiInputUrl(), contentHash));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 클라이언트가 저장소에 직접 올린 원본들(keys, drawings 와 같은 순서)로 썸네일 / AI 입력용을 변환 스레드풀에서 만들고,
+     * 끝나는 대로 Drawing 에 URL 과 원본 해시를 채운다. 요청 스레드는 기다리지 않으며, 그 전까지 AI 입력 / 조회는 원본을 쓴다.
+     */
+    public void createVariantsAsync(List<Drawing> drawings, List<String> keys) {
+        List<StorageObject> objects = keys.stream()
+                .map(key -> new StorageObject(key, () -> objectStorage.open(key), -1, null))
+                .toList();
+        List<CompletableFuture<DrawingImageUrls>> variants = drawingImageVariants.createAsync(objects);
+        for (int i = 0; i < variants.size(); i++) {
+            Long drawingId = drawings.get(i).getId();
+            variants.get(i)
+                    .thenAccept(urls -> drawingRepository.updateVariants(drawingId, urls.thumbnailUrl(), urls.aiInputUrl(), urls.contentHash()))
+                    .exceptionally(e -> {
+                        log.warn("[DrawingStorageService] 변환 결과 저장 실패: drawingId = {}", drawingId, e);
+                        return null;
+                    });
+        }
+    }
+
+    public String createKey(String email, String originalFileName) {
+        String date = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        return email + "/" + date + "/" + createFileName(originalFileName);
+    }
+
+    // 파일명을 난수화하기 위해 UUID 를 활용하여 난수를 돌린다.
+    public String createFileName(String fileName){
+        return UUID.randomUUID().toString().concat(getFileExtension(fileName));
+    }
+
+    //  "."의 존재 유무만 판단
+    private String getFileExtension(String fileName){
+        try{
+            return fileName.substring(fileName.lastIndexOf("."));
+        } catch (StringIndexOutOfBoundsException | NullPointerException e){
+            throw new AWSHandler(ErrorStatus.FILE_NOT_VALID);
+        }
+    }
+}
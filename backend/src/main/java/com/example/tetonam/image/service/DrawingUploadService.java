@@ -0,0 +1,170 @@
+package com.example.tetonam.image.service;
+
+import com.example.tetonam.exception.handler.AWSHandler;
+import com.example.tetonam.exception.handler.UserHandler;
+import com.example.tetonam.image.domain.Drawing;
+import com.example.tetonam.image.domain.DrawingList;
+import com.example.tetonam.image.dto.DrawingUploadFileDto;
+import com.example.tetonam.image.dto.DrawingUploadUrlDto;
+import com.example.tetonam.image.dto.DrawingUploadUrlRequestDto;
+import com.example.tetonam.image.dto.DrawingUploadUrlResponseDto;
+import com.example.tetonam.image.repository.DrawingRepository;
+import com.example.tetonam.image.service.enums.DrawingCategory;
+import com.example.tetonam.image.service.storage.ObjectStorage;
+import com.example.tetonam.image.service.storage.PresignedUpload;
+import com.example.tetonam.image.service.storage.StoredObject;
+import com.example.tetonam.image.service.storage.UploadPolicy;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import com.example.tetonam.user.domain.User;
+import com.example.tetonam.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 그림 업로드
+ * 그림 파일을 backend 로 받아서 저장하는 createDrawing 과, backend 를 거치지 않고 저장소에 직접 올리는 2단계 업로드
+ * 1. upload-urls : 그림 4장의 key 와 presigned PUT URL 을 발급하고, 대기 중인 업로드를 Redis 에 uploadId 로 보관
+ *                  (pending 상태의 DrawingList 를 미리 만들지 않는 이유: 목록 / 최근그림 / 고아 작업 조회마다 상태 조건이 필요해지고,
+ *                   중간에 그만둔 업로드를 따로 지워야 한다. Redis 해시는 TTL 로 알아서 사라지고 DB 에는 완료된 그림만 남는다)
+ *                  파일 해시(contentHash)를 같이 보내고 같은 사용자가 전에 올린 같은 파일이 있으면 URL 을 주지 않고 저장된 파일을 쓴다
+ * 2. complete    : 4장이 모두 올라갔는지 확인한 뒤 DrawingList 를 저장하고 AI 분석을 시작
+ *                  썸네일 / AI 입력용 변환은 응답 뒤에 변환 스레드풀에서 하고, 끝나기 전까지 AI 분석은 원본으로 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class DrawingUploadService {
+    private static final String UPLOAD_PREFIX = "DRAWING:UPLOAD:";
+    private static final String EMAIL_FIELD = "email";
+    // 전에 올린 파일을 쓰는 카테고리는 key 대신 "카테고리:hash" 필드에 해시를 둔다
+    private static final String HASH_FIELD_SUFFIX = ":hash";
+    // URL 만료 후 complete 호출까지의 여유
+    private static final Duration COMPLETE_GRACE = Duration.ofMinutes(5);
+
+    private final UserRepository userRepository;
+    private final DrawingStorageService drawingStorageService;
+    private final DrawingService drawingService;
+    private final DrawingRepository drawingRepository;
+    private final ObjectStorage objectStorage;
+    private final UploadPolicy uploadPolicy;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${storage.presign.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    /**
+     * 저장소 업로드는 트랜잭션 밖에서 먼저 끝내고 (업로드 동안 DB 커넥션을 잡지 않도록)
+     * DrawingList 와 Drawing 4장, AI 분석 작업은 registerDrawings 에서 한 트랜잭션으로 저장한다.
+     */
+    public String createDrawing(String email, List<MultipartFile> multipartFile) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
+        List<DrawingImageUrls> imageUrlsList = drawingStorageService.uploadFile(multipartFile, user);
+        drawingService.registerDrawings(user, imageUrlsList);
+        return "그림이 저장되었습니다";
+    }
+
+    public DrawingUploadUrlResponseDto issueUploadUrls(String email, DrawingUploadUrlRequestDto dto) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
+        List<DrawingUploadFileDto> files = dto.getFiles();
+        DrawingCategory[] categories = DrawingCategory.values();
+        if (files == null || files.size() != categories.length) {
+            throw new AWSHandler(ErrorStatus.FILE_NOT_VALID);
+        }
+
+        Duration ttl = Duration.ofMinutes(ttlMinutes);
+        String uploadId = UUID.randomUUID().toString();
+        Map<String, String> pending = new HashMap<>();
+        pending.put(EMAIL_FIELD, email);
+
+        List<DrawingUploadUrlDto> uploadUrls = new ArrayList<>();
+        for (int i = 0; i < categories.length; i++) {
+            DrawingUploadFileDto file = files.get(i);
+            if (file == null) {
+                throw new AWSHandler(ErrorStatus.FILE_NOT_VALID);
+            }
+            if (file.getContentHash() != null
+                    && drawingRepository.findFirstByContentHashAndDrawingListUserOrderByIdAsc(file.getContentHash(), user).isPresent()) {
+                pending.put(categories[i].name() + HASH_FIELD_SUFFIX, file.getContentHash());
+                uploadUrls.add(DrawingUploadUrlDto.reused(categories[i]));
+                continue;
+            }
+            uploadPolicy.checkContentType(file.getContentType());
+            String key = drawingStorageService.createKey(email, file.getFileName());
+            PresignedUpload presignedUpload = objectStorage.presignPut(key, file.getContentType(), ttl);
+            pending.put(categories[i].name(), key);
+            uploadUrls.add(DrawingUploadUrlDto.toDto(categories[i], presignedUpload));
+        }
+
+        String redisKey = UPLOAD_PREFIX + uploadId;
+        redisTemplate.opsForHash().putAll(redisKey, pending);
+        redisTemplate.expire(redisKey, ttl.plus(COMPLETE_GRACE));
+
+        return DrawingUploadUrlResponseDto.builder()
+                .uploadId(uploadId)
+                .uploadUrls(uploadUrls)
+                .build();
+    }
+
+    public String completeUpload(String email, String uploadId) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserHandler(ErrorStatus.USER_NOT_FOUND));
+        String redisKey = UPLOAD_PREFIX + uploadId;
+        Map<Object, Object> pending = redisTemplate.opsForHash().entries(redisKey);
+        if (pending.isEmpty() || !email.equals(pending.get(EMAIL_FIELD))) {
+            throw new AWSHandler(ErrorStatus.UPLOAD_NOT_FOUND);
+        }
+
+        List<DrawingImageUrls> images = new ArrayList<>();
+        List<Integer> uploadedIndexes = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<StoredObject> storedObjects = new ArrayList<>();
+        DrawingCategory[] categories = DrawingCategory.values();
+        for (int i = 0; i < categories.length; i++) {
+            String contentHash = (String) pending.get(categories[i].name() + HASH_FIELD_SUFFIX);
+            if (contentHash != null) {
+                Drawing stored = drawingRepository.findFirstByContentHashAndDrawingListUserOrderByIdAsc(contentHash, user)
+                        .orElseThrow(() -> new AWSHandler(ErrorStatus.UPLOAD_NOT_COMPLETED));
+                images.add(new DrawingImageUrls(stored.getImageUrl(), stored.getThumbnailUrl(), stored.getAiInputUrl(), contentHash));
+                continue;
+            }
+            String key = (String) pending.get(categories[i].name());
+            StoredObject storedObject = key == null ? null : objectStorage.stat(key).orElse(null);
+            if (storedObject == null) {
+                throw new AWSHandler(ErrorStatus.UPLOAD_NOT_COMPLETED);
+            }
+            images.add(new DrawingImageUrls(objectStorage.urlOf(key), null, null, null));
+            uploadedIndexes.add(i);
+            keys.add(key);
+            storedObjects.add(storedObject);
+        }
+
+        // 같은 uploadId 로 complete 가 두 번 와도 DrawingList 는 한 번만 만들어지도록 먼저 지운 쪽만 진행
+        if (!Boolean.TRUE.equals(redisTemplate.delete(redisKey))) {
+            throw new AWSHandler(ErrorStatus.UPLOAD_NOT_FOUND);
+        }
+        // presigned PUT 은 크기를 막지 못하므로 실제로 올라간 객체로 확인하고, 넘으면 올라간 원본도 지운다
+        try {
+            storedObjects.forEach(uploadPolicy::check);
+        } catch (AWSHandler e) {
+            keys.forEach(objectStorage::delete);
+            throw e;
+        }
+        DrawingList drawingList = drawingService.registerDrawings(user, images);
+        List<Drawing> uploaded = uploadedIndexes.stream()
+                .map(drawingList.getDrawings()::get)
+                .toList();
+        drawingStorageService.createVariantsAsync(uploaded, keys);
+        return "그림이 저장되었습니다";
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.tetonam.image.service;
+
+import com.example.tetonam.image.service.enums.DrawingCategory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * (그림 카테고리, 정규화한 상담사 코멘트) -> RAG 답변 캐시
+ * L1 은 인스턴스 내 Caffeine(개수 + TTL 제한), L2 는 인스턴스끼리 공유하는 Redis(TTL 제한)이다.
+ * 캐시가 실패해도 LLM 호출로 넘어가면 되므로 Redis 오류는 miss 로 취급한다.
+ */
+@Slf4j
+@Component
+public class RagAnswerCache {
+    private static final String KEY_PREFIX = "RAG:ANSWER:";
+    private static final Pattern PUNCTUATION = Pattern.compile("[\\p{P}\\p{S}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<String, String> localCache;
+    private final boolean enabled;
+    private final Duration redisTtl;
+    private final Counter l1Hit;
+    private final Counter l1Miss;
+    private final Counter l2Hit;
+    private final Counter l2Miss;
+
+    public RagAnswerCache(RedisTemplate<String, String> redisTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${ai.rag-cache.enabled:true}") boolean enabled,
+                          @Value("${ai.rag-cache.local-max-size:1000}") long localMaxSize,
+                          @Value("${ai.rag-cache.local-ttl-minutes:10}") long localTtlMinutes,
+                          @Value("${ai.rag-cache.redis-ttl-hours:24}") long redisTtlHours) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.redisTtl = Duration.ofHours(redisTtlHours);
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(localTtlMinutes))
+                .build();
+        this.l1Hit = counter(meterRegistry, "l1", "hit");
+        this.l1Miss = counter(meterRegistry, "l1", "miss");
+        this.l2Hit = counter(meterRegistry, "l2", "hit");
+        this.l2Miss = counter(meterRegistry, "l2", "miss");
+        Gauge.builder("rag.answer.cache.l1.size", localCache, Cache::estimatedSize)
+                .description("인스턴스 내 RAG 답변 캐시 항목 수")
+                .register(meterRegistry);
+    }
+
+    public Optional<String> get(DrawingCategory category, String question) {
+        if (!enabled || question == null) {
+            return Optional.empty();
+        }
+        String key = keyOf(category, question);
+        String answer = localCache.getIfPresent(key);
+        if (answer != null) {
+            l1Hit.increment();
+            return Optional.of(answer);
+        }
+        l1Miss.increment();
+
+        try {
+            answer = redisTemplate.opsForValue().get(key);
+        } catch (RuntimeException e) {
+            log.warn("[RagAnswerCache] Redis 조회 실패: key = {}", key, e);
+            answer = null;
+        }
+        if (answer == null) {
+            l2Miss.increment();
+            return Optional.empty();
+        }
+        l2Hit.increment();
+        localCache.put(key, answer);
+        return Optional.of(answer);
+    }
+
+    public void put(DrawingCategory category, String question, String answer) {
+        if (!enabled || question == null || answer == null) {
+            return;
+        }
+        String key = keyOf(category, question);
+        localCache.put(key, answer);
+        try {
+            redisTemplate.opsForValue().set(key, answer, redisTtl);
+        } catch (RuntimeException e) {
+            log.warn("[RagAnswerCache] Redis 저장 실패: key = {}", key, e);
+        }
+    }
+
+    /**
+     * 템플릿으로 쓴 코멘트가 띄어쓰기 / 문장부호 / 전각문자 정도만 달라도 같은 키가 되도록 정규화
+     */
+    static String normalize(String question) {
+        String normalized = Normalizer.normalize(question, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        normalized = PUNCTUATION.matcher(normalized).replaceAll(" ");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    // 코멘트가 길 수 있으므로 키에는 해시만 넣는다
+    private static String keyOf(DrawingCategory category, String question) {
+        MessageDigest digest = ContentHash.newDigest();
+        digest.update(normalize(question).getBytes(StandardCharsets.UTF_8));
+        return KEY_PREFIX + category + ":" + ContentHash.toHex(digest);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("rag.answer.cache")
+                .tag("tier", tier)
+                .tag("result", result)
+                .description("RAG 답변 캐시 조회 결과")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.tetonam.image.service.storage;
+
+import com.example.tetonam.exception.handler.AWSHandler;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 로컬 디스크 저장소 (storage.type = local)
+ * S3 없이 단일 서버로 띄우거나, 업로드 처리량을 S3 와 분리해서 측정할 때 사용한다.
+ * 파일은 storage.local.root 아래 key 경로로 저장하고 LocalStorageController(/files/**) 로 내려준다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalObjectStorage implements ObjectStorage {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Path root;
+    private final String publicUrl;
+    private final SecretKeySpec signingKey;
+
+    public LocalObjectStorage(@Value("${storage.local.root:./storage}") String root,
+                              @Value("${storage.local.public-url:http://localhost:8080/files}") String publicUrl,
+                              @Value("${storage.local.signing-secret:}") String signingSecret) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.publicUrl = publicUrl;
+        // 설정이 없으면 기동할 때마다 새로 만든다 (재기동 전에 발급한 업로드 URL 은 무효가 된다)
+        byte[] secret = signingSecret.isBlank()
+                ? KeyGenerators.secureRandom(32).generateKey()
+                : signingSecret.getBytes(StandardCharsets.UTF_8);
+        this.signingKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        Files.createDirectories(this.root);
+    }
+
+    @Override
+    public List<String> putAll(List<StorageObject> objects) {
+        List<String> fileNameList = new ArrayList<>();
+        for (StorageObject object : objects) {
+            write(object.key(), object.source());
+            fileNameList.add(urlOf(object.key()));
+        }
+        return fileNameList;
+    }
+
+    public void write(String key, InputStreamSource source) {
+        write(key, source, Long.MAX_VALUE);
+    }
+
+    /**
+     * 임시 파일에 FileChannel.transferFrom 으로 쓰고 다 쓴 뒤에 key 경로로 옮긴다.
+     * (쓰다 만 파일이 조회되지 않도록)
+     * maxBytes 보다 길면 그 이상은 읽지 않고 임시 파일을 지운 뒤 FILE_TOO_LARGE 를 던진다.
+     */
+    public void write(String key, InputStreamSource source, long maxBytes) {
+        Path target = resolve(key);
+        // 한 바이트 더 읽어봐서 넘는지 확인한다
+        long limit = maxBytes < Long.MAX_VALUE ? maxBytes + 1 : Long.MAX_VALUE;
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try (InputStream inputStream = source.getInputStream();
+                 ReadableByteChannel channelSource = Channels.newChannel(inputStream);
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long written;
+                while (position < limit && (written = channel.transferFrom(channelSource, position, limit - position)) > 0) {
+                    position += written;
+                }
+                if (position > maxBytes) {
+                    throw new AWSHandler(ErrorStatus.FILE_TOO_LARGE);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("로컬 저장 실패: key = {}", key, e);
+            deleteQuietly(temp);
+            throw new AWSHandler(ErrorStatus.IMAGE_NOT_SAVE);
+        } catch (AWSHandler e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * S3 presigned URL 흉내: PUT {public-url}/{key}?expires=..&signature=HMAC(key, expires)
+     */
+    @Override
+    public PresignedUpload presignPut(String key, String contentType, Duration ttl) {
+        resolve(key);
+        long expires = Instant.now().plus(ttl).getEpochSecond();
+        String uploadUrl = urlOf(key) + "?expires=" + expires + "&signature=" + sign(key, expires);
+        return new PresignedUpload(key, uploadUrl, Map.of(HttpHeaders.CONTENT_TYPE, contentType));
+    }
+
+    /**
+     * 직접 업로드 요청의 서명과 만료시간 확인, 틀리면 UPLOAD_URL_NOT_VALID
+     */
+    public void verifyPut(String key, long expires, String signature) {
+        boolean valid = signature != null
+                && Instant.now().getEpochSecond() <= expires
+                && MessageDigest.isEqual(sign(key, expires).getBytes(StandardCharsets.US_ASCII),
+                        signature.getBytes(StandardCharsets.US_ASCII));
+        if (!valid) {
+            throw new AWSHandler(ErrorStatus.UPLOAD_URL_NOT_VALID);
+        }
+    }
+
+    // Content-Type 은 따로 저장하지 않으므로 확장자로 판단한다 (PUT 받을 때 헤더는 UploadPolicy 로 확인)
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new StoredObject(Files.size(path), contentTypeOf(path)));
+        } catch (IOException e) {
+            log.warn("로컬 파일 정보 조회 실패: key = {}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    public String contentTypeOf(Path path) {
+        return MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .map(Object::toString)
+                .orElse("application/octet-stream");
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(pathOf(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            log.warn("로컬 파일 삭제 실패: key = {}", key, e);
+        }
+    }
+
+    @Override
+    public String urlOf(String key) {
+        return publicUrl + "/" + key;
+    }
+
+    /**
+     * 저장된 파일 경로, 없으면 IMAGE_NOT_FOUND
+     */
+    public Path pathOf(String key) {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) {
+            throw new AWSHandler(ErrorStatus.IMAGE_NOT_FOUND);
+        }
+        return path;
+    }
+
+    /**
+     * FileChannel.transferTo 로 파일을 그대로 내보낸다. (소켓 채널이면 커널에서 바로 복사)
+     */
+    public long transferTo(Path path, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            return size;
+        }
+    }
+
+    // root 밖을 가리키는 key(../ 등)는 막는다
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new AWSHandler(ErrorStatus.FILE_NOT_VALID);
+        }
+        return path;
+    }
+
+    private String sign(String key, long expires) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            byte[] digest = mac.doFinal((key + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+}
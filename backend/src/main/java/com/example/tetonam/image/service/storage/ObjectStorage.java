@@ -0,0 +1,36 @@
+package com.example.tetonam.image.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 그림 파일 저장소 SPI
+ * storage.type 으로 구현체를 고른다. (s3 - S3ObjectStorage, local - LocalObjectStorage)
+ */
+public interface ObjectStorage {
+
+    /**
+     * 객체들을 저장하고 각 객체의 공개 URL 을 같은 순서로 반환한다.
+     * 하나라도 실패하면 AWSHandler(IMAGE_NOT_SAVE) 를 던진다.
+     */
+    List<String> putAll(List<StorageObject> objects);
+
+    /**
+     * 클라이언트가 ttl 동안 key 에 직접 PUT 으로 올릴 수 있는 URL 을 만든다.
+     */
+    PresignedUpload presignPut(String key, String contentType, Duration ttl);
+
+    /**
+     * 저장된 객체의 크기 / Content-Type, 없으면 empty
+     */
+    Optional<StoredObject> stat(String key);
+
+    InputStream open(String key) throws IOException;
+
+    void delete(String key);
+
+    String urlOf(String key);
+}
@@ -0,0 +1,9 @@
+package com.example.tetonam.image.service.storage;
+
+import java.util.Map;
+
+/**
+ * 클라이언트가 저장소에 직접 PUT 할 URL 과 같이 보내야 하는 헤더
+ */
+public record PresignedUpload(String key, String uploadUrl, Map<String, String> headers) {
+}
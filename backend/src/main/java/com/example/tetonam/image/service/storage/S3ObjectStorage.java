@@ -0,0 +1,148 @@
+package com.example.tetonam.image.service.storage;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.Upload;
+import com.example.tetonam.exception.handler.AWSHandler;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * S3 저장소 (storage.type = s3, 기본값)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3ObjectStorage implements ObjectStorage {
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    @Value("${cloud.aws.url}")
+    private String url;
+ 
+    private final AmazonS3 amazonS3;
+    private final TransferManager transferManager;
+
+    /**
+     * 파일들을 s3UploadExecutor 에서 동시에 올리고 모두 끝날 때까지 기다린다.
+     * (전체 소요시간 = 가장 느린 파일 하나의 업로드 시간, 큰 파일은 multipart 로 나눠 올림)
+     * 하나라도 실패하면 나머지 업로드는 중단하고 IMAGE_NOT_SAVE 를 던진다.
+     */
+    @Override
+    public List<String> putAll(List<StorageObject> objects) {
+        List<String> fileNameList = new ArrayList<>();
+        List<Upload> uploads = new ArrayList<>();
+        List<InputStream> inputStreams = new ArrayList<>();
+        try {
+            // 업로드를 전부 먼저 걸어두고
+            for (StorageObject object : objects) {
+                ObjectMetadata objectMetadata = new ObjectMetadata();
+                objectMetadata.setContentLength(object.size());
+                objectMetadata.setContentType(object.contentType());
+
+                InputStream inputStream = object.source().getInputStream();
+                inputStreams.add(inputStream);
+                uploads.add(transferManager.upload(new PutObjectRequest(bucket, object.key(), inputStream, objectMetadata)
+                        .withCannedAcl(CannedAccessControlList.PublicRead)));
+                fileNameList.add(urlOf(object.key()));
+            }
+            // 순서대로 완료를 기다린다 (fileNameList 순서는 objects 순서와 같다)
+            for (Upload upload : uploads) {
+                upload.waitForCompletion();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abortAll(uploads);
+            throw new AWSHandler(ErrorStatus.IMAGE_NOT_SAVE);
+        } catch (IOException | AmazonClientException e) {
+            log.error("S3 업로드 실패", e);
+            abortAll(uploads);
+            throw new AWSHandler(ErrorStatus.IMAGE_NOT_SAVE);
+        } finally {
+            inputStreams.forEach(this::closeQuietly);
+        }
+
+        return fileNameList;
+    }
+
+    // 서버를 거쳐 올릴 때와 같게 public-read 로 올라가도록 ACL 헤더까지 서명에 넣는다
+    @Override
+    public PresignedUpload presignPut(String key, String contentType, Duration ttl) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key, HttpMethod.PUT)
+                .withExpiration(Date.from(Instant.now().plus(ttl)))
+                .withContentType(contentType);
+        request.putCustomRequestHeader(Headers.S3_CANNED_ACL, CannedAccessControlList.PublicRead.toString());
+        String uploadUrl = amazonS3.generatePresignedUrl(request).toString();
+        return new PresignedUpload(key, uploadUrl, Map.of(
+                Headers.CONTENT_TYPE, contentType,
+                Headers.S3_CANNED_ACL, CannedAccessControlList.PublicRead.toString()));
+    }
+
+    // HEAD 한 번으로 존재 여부와 크기 / Content-Type 을 같이 본다
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        try {
+            ObjectMetadata metadata = amazonS3.getObjectMetadata(bucket, key);
+            return Optional.of(new StoredObject(metadata.getContentLength(), metadata.getContentType()));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        return amazonS3.getObject(bucket, key).getObjectContent();
+    }
+
+    @Override
+    public void delete(String key) {
+        amazonS3.deleteObject(new DeleteObjectRequest(bucket, key));
+    }
+
+    @Override
+    public String urlOf(String key) {
+        return url + "/" + key;
+    }
+
+    private void abortAll(List<Upload> uploads) {
+        for (Upload upload : uploads) {
+            if (!upload.isDone()) {
+                upload.abort();
+            }
+        }
+    }
+
+    private void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.tetonam.image.service.storage;
+
+import org.springframework.core.io.InputStreamSource;
+
+/**
+ * 저장할 객체 한 개 (MultipartFile, ByteArrayResource 모두 InputStreamSource 이다)
+ */
+public record StorageObject(String key, InputStreamSource source, long size, String contentType) {
+}
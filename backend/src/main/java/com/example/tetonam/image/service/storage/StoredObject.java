@@ -0,0 +1,7 @@
+package com.example.tetonam.image.service.storage;
+
+/**
+ * 저장소에 올라가 있는 객체의 크기와 Content-Type (직접 업로드 완료 확인용)
+ */
+public record StoredObject(long size, String contentType) {
+}
@@ -0,0 +1,56 @@
+package com.example.tetonam.image.service.storage;
+
+import com.example.tetonam.exception.handler.AWSHandler;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 클라이언트가 저장소에 직접 올리는 그림의 크기 / 형식 제한
+ * S3 presigned PUT 은 크기를 서명에 넣을 수 없으므로 complete 때 실제로 올라간 객체를 확인하고,
+ * 로컬 저장소는 PUT 을 받을 때 바로 막는다.
+ */
+@Component
+public class UploadPolicy {
+    private final long maxBytes;
+    private final Set<String> contentTypes;
+
+    public UploadPolicy(@Value("${storage.upload.max-bytes:20971520}") long maxBytes,
+                        @Value("${storage.upload.content-types:image/jpeg,image/png}") String[] contentTypes) {
+        this.maxBytes = maxBytes;
+        this.contentTypes = Arrays.stream(contentTypes)
+                .map(UploadPolicy::normalize)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    // 허용하지 않는 형식이면 FILE_NOT_VALID
+    public void checkContentType(String contentType) {
+        if (contentType == null || !contentTypes.contains(normalize(contentType))) {
+            throw new AWSHandler(ErrorStatus.FILE_NOT_VALID);
+        }
+    }
+
+    // 크기를 넘으면 FILE_TOO_LARGE, 형식이 다르면 FILE_NOT_VALID
+    public void check(StoredObject storedObject) {
+        if (storedObject.size() > maxBytes) {
+            throw new AWSHandler(ErrorStatus.FILE_TOO_LARGE);
+        }
+        checkContentType(storedObject.contentType());
+    }
+
+    // "image/jpeg; charset=..." -> "image/jpeg"
+    private static String normalize(String contentType) {
+        int semicolon = contentType.indexOf(';');
+        String type = semicolon < 0 ? contentType : contentType.substring(0, semicolon);
+        return type.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -23,6 +23,10 @@ public class KakaoToken extends BaseTime {
     @Column
     private String RefreshToken;
 
+    // 마지막으로 토큰을 갱신한 스케줄러 리더의 펜싱토큰
+    @Column
+    private Long fencingToken;
+
 
 
 
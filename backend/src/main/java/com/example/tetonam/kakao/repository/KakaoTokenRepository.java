@@ -6,12 +6,20 @@ import com.example.tetonam.kakao.domain.KakaoToken;
 import com.example.tetonam.user.domain.User;
 import io.lettuce.core.dynamic.annotation.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface KakaoTokenRepository extends JpaRepository<KakaoToken,Long> {
 
+    // 저장된 펜싱토큰보다 작은(이전 리더의) 갱신은 반영하지 않는다
+    @Transactional
+    @Modifying
+    @Query("UPDATE KakaoToken k SET k.AccessToken = :accessToken, k.fencingToken = :fencingToken " +
+            "WHERE k.id = :id AND (k.fencingToken IS NULL OR k.fencingToken <= :fencingToken)")
+    int updateAccessTokenFenced(long id, String accessToken, long fencingToken);
 
 }
 
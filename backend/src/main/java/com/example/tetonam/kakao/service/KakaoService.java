@@ -19,6 +19,8 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 @RequiredArgsConstructor
 @Service
 @Slf4j
@@ -30,9 +32,11 @@ public class KakaoService {
     private String uuid;
     @Value("${kakao.template_id}")
     private String templateId;
+    private static final Duration MESSAGE_TIMEOUT = Duration.ofSeconds(10);
     private final String KAUTH_TOKEN_URL_HOST = "https://kauth.kakao.com";
     private final String KAUTH_USER_URL_HOST = "https://kapi.kakao.com";
     private final WebClientUtil webClientUtil;
+    private final WebClient webClient;
     private final KakaoTokenRepository kakaoTokenRepository;
 
 
@@ -44,24 +48,21 @@ public class KakaoService {
         KakaoToken kakaoToken=kakaoTokenRepository.findById(1L)
                         .orElseThrow(()->new TokenHandler(ErrorStatus.TOKEN_IS_NOT_AUTHORITY));
 
-        webClientUtil.messageSandPost("https://kapi.kakao.com/v1/api/talk/friends/message/send", formData, String.class, kakaoToken.getAccessToken()).subscribe(result -> {
-        }, error -> {
-            error.printStackTrace();
-        });
+        // OutboxRelay(스케줄러 스레드)에서 호출되므로 응답을 기다리고, 실패는 예외로 올려서 재시도하게 한다
+        webClientUtil.messageSandPost("https://kapi.kakao.com/v1/api/talk/friends/message/send", formData, String.class, kakaoToken.getAccessToken())
+                .block(MESSAGE_TIMEOUT);
         return "보냈습니다";
     }
 
 
     public KakaoTokenResponseDto getAccessTokenFromKakao(String code) {
 
-        KakaoTokenResponseDto kakaoTokenResponseDto = WebClient.create(KAUTH_TOKEN_URL_HOST).post()
-                .uri(uriBuilder -> uriBuilder
-                        .scheme("https")
-                        .path("/oauth/token")
+        KakaoTokenResponseDto kakaoTokenResponseDto = webClient.post()
+                .uri(KAUTH_TOKEN_URL_HOST + "/oauth/token", uriBuilder -> uriBuilder
                         .queryParam("grant_type", "authorization_code")
                         .queryParam("client_id", clientId)
                         .queryParam("code", code)
-                        .build(true))
+                        .build())
                 .header(HttpHeaders.CONTENT_TYPE, HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED.toString())
                 .retrieve()
                 //TODO : Custom Exception
@@ -82,12 +83,8 @@ public class KakaoService {
 
     public KakaoUserInfoResponseDto getUserInfo(String accessToken) {
 
-        KakaoUserInfoResponseDto userInfo = WebClient.create(KAUTH_USER_URL_HOST)
-                .get()
-                .uri(uriBuilder -> uriBuilder
-                        .scheme("https")
-                        .path("/v2/user/me")
-                        .build(true))
+        KakaoUserInfoResponseDto userInfo = webClient.get()
+                .uri(KAUTH_USER_URL_HOST + "/v2/user/me")
                 .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken) // access token 인가
                 .header(HttpHeaders.CONTENT_TYPE, HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED.toString())
                 .retrieve()
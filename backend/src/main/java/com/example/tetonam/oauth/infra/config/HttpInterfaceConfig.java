@@ -11,12 +11,12 @@ import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 public class HttpInterfaceConfig {
 
     @Bean
-    public KakaoApiClient kakaoApiClient() {
-        return createHttpInterface(KakaoApiClient.class);
+    public KakaoApiClient kakaoApiClient(WebClient webClient) {
+        return createHttpInterface(webClient, KakaoApiClient.class);
     }
 
-    private <T> T createHttpInterface(Class<T> clazz) {
-        WebClient webClient = WebClient.create();
+    // WebClientConfig 의 공유 WebClient 를 써서 커넥션 풀 / timeout 설정을 같이 쓴다
+    private <T> T createHttpInterface(WebClient webClient, Class<T> clazz) {
         HttpServiceProxyFactory build = HttpServiceProxyFactory.builderFor(WebClientAdapter.create(webClient)).build();
         return build.createClient(clazz);
     }
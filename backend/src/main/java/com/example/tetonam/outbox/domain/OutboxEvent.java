@@ -0,0 +1,58 @@
+package com.example.tetonam.outbox.domain;
+
+import com.example.tetonam.outbox.domain.enums.OutboxEventType;
+import com.example.tetonam.outbox.domain.enums.OutboxStatus;
+import com.example.tetonam.util.BaseTime;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결과 저장과 같은 트랜잭션에서 기록하는 알림 (transactional outbox)
+ * 커밋된 이벤트만 OutboxRelay 가 읽어서 보내므로, 롤백된 결과의 알림이 나가거나 커밋된 결과의 알림이 빠지지 않는다.
+ * 상태 전이는 ai_job 과 같다. (PENDING -> RUNNING -> SENT / 실패 시 backoff 후 PENDING, 횟수 초과 시 FAILED)
+ */
+@Entity
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "idx_outbox_event_type_status_next_run", columnList = "type, status, next_run_at"),
+        @Index(name = "idx_outbox_event_type_status_locked", columnList = "type, status, locked_until")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent extends BaseTime {
+
+    @Column(name = "outbox_event_id", updatable = false, unique = true, nullable = false)
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType type;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    // 타입별 내용 (AI_RESULT: "drawingId:AiJobType", KAKAO_MESSAGE: KakaoMessageDto JSON)
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,5 @@
+package com.example.tetonam.outbox.domain.enums;
+
+public enum OutboxStatus {
+    PENDING,RUNNING,SENT,FAILED
+}
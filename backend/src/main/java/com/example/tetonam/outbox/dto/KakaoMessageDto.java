@@ -0,0 +1,16 @@
+package com.example.tetonam.outbox.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KakaoMessageDto {
+  private String title;
+  private String detail;
+  private String url;
+  private String img;
+}
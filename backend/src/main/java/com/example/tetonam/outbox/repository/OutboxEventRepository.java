@@ -0,0 +1,47 @@
+package com.example.tetonam.outbox.repository;
+
+import com.example.tetonam.outbox.domain.OutboxEvent;
+import com.example.tetonam.outbox.domain.enums.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent,Long> {
+
+    // 보낼 수 있는 type 이벤트 id (다른 인스턴스가 잠근 행은 건너뛴다, MySQL 8)
+    @Query(value = "SELECT outbox_event_id FROM outbox_event " +
+            "WHERE type = :type AND ((status = 'PENDING' AND next_run_at <= :now) " +
+            "OR (status = 'RUNNING' AND locked_until < :now)) " +
+            "ORDER BY outbox_event_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findClaimableIds(String type, LocalDateTime now, int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.status = com.example.tetonam.outbox.domain.enums.OutboxStatus.RUNNING, e.lockedUntil = :lockedUntil, e.claimToken = :claimToken, " +
+            "e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int markRunning(Collection<Long> ids, LocalDateTime lockedUntil, String claimToken);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.example.tetonam.outbox.domain.enums.OutboxStatus.SENT, e.nextRunAt = :sentAt, e.lockedUntil = null " +
+            "WHERE e.id = :id AND e.claimToken = :claimToken AND e.status = com.example.tetonam.outbox.domain.enums.OutboxStatus.RUNNING")
+    int markSent(long id, String claimToken, LocalDateTime sentAt);
+
+    // 가져갔지만 보내보지 못한 이벤트를 시도 횟수를 쓰지 않고 바로 PENDING 으로 돌린다
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.example.tetonam.outbox.domain.enums.OutboxStatus.PENDING, e.nextRunAt = :nextRunAt, e.lockedUntil = null, " +
+            "e.attempts = e.attempts - 1 " +
+            "WHERE e.id IN :ids AND e.claimToken = :claimToken AND e.status = com.example.tetonam.outbox.domain.enums.OutboxStatus.RUNNING")
+    int release(Collection<Long> ids, String claimToken, LocalDateTime nextRunAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.nextRunAt = :nextRunAt, e.lockedUntil = null, e.lastError = :lastError " +
+            "WHERE e.id = :id AND e.claimToken = :claimToken AND e.status = com.example.tetonam.outbox.domain.enums.OutboxStatus.RUNNING")
+    int finish(long id, String claimToken, OutboxStatus status, LocalDateTime nextRunAt, String lastError);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.example.tetonam.outbox.domain.enums.OutboxStatus.SENT AND e.nextRunAt < :before")
+    int deleteSentBefore(LocalDateTime before);
+}
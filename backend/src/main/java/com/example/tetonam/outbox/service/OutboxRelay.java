@@ -0,0 +1,111 @@
+package com.example.tetonam.outbox.service;
+
+import com.example.tetonam.image.service.AiResultNotifier;
+import com.example.tetonam.kakao.service.KakaoService;
+import com.example.tetonam.outbox.domain.enums.OutboxEventType;
+import com.example.tetonam.outbox.dto.KakaoMessageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 커밋된 outbox 이벤트를 묶음으로 가져가서 보내는 릴레이 (Scheduler 가 타입별로 주기적으로 호출)
+ * 스케줄러 스레드에서 돌기 때문에 Kakao 토큰 조회 / 전송 같은 블로킹 작업이 Netty event loop 를 막지 않는다.
+ * Kakao 전송은 건당 최대 10초까지 걸리므로 AI_RESULT 와 따로 돌리고 작은 묶음으로 가져간다.
+ * SKIP LOCKED 로 나눠 가져가므로 한 이벤트를 두 인스턴스가 동시에 보내지 않는다.
+ * 이벤트는 보내자마자 하나씩 완료 처리하고, 묶음이 visibility timeout 의 절반을 넘기면 남은 이벤트는 돌려놓는다.
+ * 보낸 뒤 완료 처리 전에 죽은 경우에만 visibility timeout 뒤 한 번 더 보내질 수 있다. (at-least-once)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+    private final OutboxService outboxService;
+    private final AiResultNotifier aiResultNotifier;
+    private final KakaoService kakaoService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.ai-result.batch-size:100}")
+    private int aiResultBatchSize;
+
+    @Value("${outbox.kakao-message.batch-size:5}")
+    private int kakaoMessageBatchSize;
+
+    @Value("${outbox.visibility-timeout-ms:60000}")
+    private long visibilityTimeoutMillis;
+
+    @Value("${outbox.retention-days:7}")
+    private long retentionDays;
+
+    public void relayAiResults() {
+        relay(OutboxEventType.AI_RESULT, aiResultBatchSize);
+    }
+
+    public void relayKakaoMessages() {
+        relay(OutboxEventType.KAKAO_MESSAGE, kakaoMessageBatchSize);
+    }
+
+    private void relay(OutboxEventType type, int batchSize) {
+        List<OutboxTask> tasks;
+        do {
+            tasks = outboxService.claim(type, batchSize);
+            if (tasks.isEmpty()) {
+                return;
+            }
+            // 절반만 쓰고 나머지는 마지막 전송(최대 10초)과 완료 처리 여유로 남긴다
+            long deadline = System.nanoTime() + visibilityTimeoutMillis * 1_000_000L / 2;
+            for (int i = 0; i < tasks.size(); i++) {
+                OutboxTask task = tasks.get(i);
+                if (System.nanoTime() > deadline) {
+                    List<OutboxTask> remaining = tasks.subList(i, tasks.size());
+                    outboxService.release(remaining);
+                    log.warn("[Outbox] 묶음 처리 시간이 길어져 {}건을 돌려놓음: type = {}", remaining.size(), type);
+                    return;
+                }
+                try {
+                    deliver(task);
+                } catch (RuntimeException e) {
+                    outboxService.fail(task, e);
+                    count(task, "failed");
+                    continue;
+                }
+                outboxService.markSent(task);
+                count(task, "sent");
+            }
+        } while (tasks.size() >= batchSize);
+    }
+
+    // 보낸 지 retention-days 가 지난 이벤트 정리
+    public void purge() {
+        int deleted = outboxService.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("[Outbox] 보낸 이벤트 {}건 정리", deleted);
+        }
+    }
+
+    private void deliver(OutboxTask task) {
+        switch (task.type()) {
+            case AI_RESULT -> aiResultNotifier.publish(task.payload());
+            case KAKAO_MESSAGE -> {
+                KakaoMessageDto kakaoMessageDto = outboxService.readKakaoMessage(task.payload());
+                kakaoService.sendMessage(kakaoMessageDto.getTitle(), kakaoMessageDto.getDetail(),
+                        kakaoMessageDto.getUrl(), kakaoMessageDto.getImg());
+            }
+        }
+    }
+
+    private void count(OutboxTask task, String result) {
+        Counter.builder("outbox.relay")
+                .tag("type", task.type().name())
+                .tag("result", result)
+                .description("outbox 이벤트 전송 결과")
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.tetonam.outbox.service;
+
+import com.example.tetonam.outbox.domain.OutboxEvent;
+import com.example.tetonam.outbox.domain.enums.OutboxEventType;
+import com.example.tetonam.outbox.domain.enums.OutboxStatus;
+import com.example.tetonam.outbox.dto.KakaoMessageDto;
+import com.example.tetonam.outbox.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * outbox 이벤트 기록 / 가져가기 / 완료 처리
+ * 기록은 결과를 저장하는 트랜잭션 안에서만 할 수 있다. (MANDATORY)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${outbox.visibility-timeout-ms:60000}")
+    private long visibilityTimeoutMillis;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.retry-backoff-ms:1000}")
+    private long retryBackoffMillis;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEventType type, String payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .type(type)
+                .status(OutboxStatus.PENDING)
+                .payload(payload)
+                .attempts(0)
+                .nextRunAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendKakaoMessage(KakaoMessageDto kakaoMessageDto) {
+        try {
+            append(OutboxEventType.KAKAO_MESSAGE, objectMapper.writeValueAsString(kakaoMessageDto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public KakaoMessageDto readKakaoMessage(String payload) {
+        try {
+            return objectMapper.readValue(payload, KakaoMessageDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * type 이벤트를 최대 limit 개 RUNNING 으로 바꾸고 visibility timeout 을 건다. (ai_job 의 claim 과 같은 방식)
+     */
+    @Transactional
+    public List<OutboxTask> claim(OutboxEventType type, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = outboxEventRepository.findClaimableIds(type.name(), now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String claimToken = UUID.randomUUID().toString();
+        List<OutboxTask> tasks = outboxEventRepository.findAllById(ids).stream()
+                .map(event -> new OutboxTask(event.getId(), claimToken, event.getType(), event.getAttempts() + 1, event.getPayload()))
+                .toList();
+        outboxEventRepository.markRunning(ids, now.plusNanos(visibilityTimeoutMillis * 1_000_000L), claimToken);
+        return tasks;
+    }
+
+    // 보내자마자 하나씩 완료 처리 (뒤의 이벤트가 늦어져도 이미 보낸 이벤트는 다시 보내지지 않도록)
+    @Transactional
+    public void markSent(OutboxTask task) {
+        outboxEventRepository.markSent(task.id(), task.claimToken(), LocalDateTime.now());
+    }
+
+    // 같은 claim 으로 가져간 이벤트 중 아직 보내지 않은 것들을 돌려놓는다
+    @Transactional
+    public void release(List<OutboxTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        List<Long> ids = tasks.stream().map(OutboxTask::id).toList();
+        outboxEventRepository.release(ids, tasks.get(0).claimToken(), LocalDateTime.now());
+    }
+
+    // max-attempts 전까지는 지수 backoff 후 다시 PENDING, 넘으면 FAILED
+    @Transactional
+    public void fail(OutboxTask task, Throwable error) {
+        String message = String.valueOf(error.getMessage());
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (task.attempts() >= maxAttempts) {
+            outboxEventRepository.finish(task.id(), task.claimToken(), OutboxStatus.FAILED, now, message);
+            log.error("[Outbox] 재시도 횟수 초과로 실패 처리: id = {}, type = {}", task.id(), task.type(), error);
+            return;
+        }
+        long backoff = retryBackoffMillis << Math.min(task.attempts() - 1, 10);
+        outboxEventRepository.finish(task.id(), task.claimToken(), OutboxStatus.PENDING, now.plusNanos(backoff * 1_000_000L), message);
+        log.warn("[Outbox] 전송 실패, {}ms 후 재시도: id = {}, type = {}, attempts = {}", backoff, task.id(), task.type(), task.attempts());
+    }
+
+    @Transactional
+    public int deleteSentBefore(LocalDateTime before) {
+        return outboxEventRepository.deleteSentBefore(before);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.tetonam.outbox.service;
+
+import com.example.tetonam.outbox.domain.enums.OutboxEventType;
+
+/**
+ * 릴레이가 트랜잭션 밖에서 쓰는 이벤트 정보 (가져간 시점의 스냅샷)
+ */
+public record OutboxTask(long id, String claimToken, OutboxEventType type, int attempts, String payload) {
+}
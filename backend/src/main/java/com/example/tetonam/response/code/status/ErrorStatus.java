@@ -16,6 +16,7 @@ public enum ErrorStatus implements BaseErrorCode {
     _BAD_REQUEST(HttpStatus.BAD_REQUEST,"COMMON400","잘못된 요청입니다."),
     _UNAUTHORIZED(HttpStatus.UNAUTHORIZED,"COMMON401","인증이 필요합니다."),
     _FORBIDDEN(HttpStatus.FORBIDDEN, "COMMON403", "금지된 요청입니다."),
+    LOCK_TIMEOUT(HttpStatus.CONFLICT, "COMMON409", "요청이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해주세요"),
 
 
     // Token 응답
@@ -51,8 +52,15 @@ public enum ErrorStatus implements BaseErrorCode {
     //AWS 응답
     IMAGE_NOT_SAVE(HttpStatus.INTERNAL_SERVER_ERROR,"IMAGE5000","이미지를 저장할 수 없습니다 (S3 에러)"),
     FILE_NOT_VALID(HttpStatus.BAD_REQUEST,"IMAGE4000","잘못된 형식의 파일 입니다"),
+    IMAGE_NOT_FOUND(HttpStatus.NOT_FOUND,"IMAGE4004","이미지를 찾을 수 없습니다"),
+    UPLOAD_URL_NOT_VALID(HttpStatus.FORBIDDEN,"IMAGE4003","업로드 URL이 유효하지 않거나 만료되었습니다"),
+    UPLOAD_NOT_FOUND(HttpStatus.BAD_REQUEST,"IMAGE4001","업로드 요청이 없거나 만료되었습니다"),
+    UPLOAD_NOT_COMPLETED(HttpStatus.BAD_REQUEST,"IMAGE4002","아직 올라가지 않은 그림이 있습니다"),
+    IMAGE_TOO_LARGE(HttpStatus.BAD_REQUEST,"IMAGE4005","그림의 해상도가 너무 큽니다"),
+    FILE_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE,"IMAGE4130","파일 크기가 너무 큽니다"),
     AI_CLIENT_ERROR(HttpStatus.BAD_REQUEST,"AI_SERVER4000","잘못된 요청입니다"),
     AI_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR,"AI_SERVER5000","AI서버 에러 입니다"),
+    AI_SERVER_BUSY(HttpStatus.SERVICE_UNAVAILABLE,"AI_SERVER5030","AI서버 요청이 밀려 있습니다. 잠시 후 다시 시도해주세요"),
 
     //상담 예약 응답
     ALREADY_RESERVED(HttpStatus.BAD_REQUEST,"COUNSELING4000","이미 예약된 시간입니다."),
@@ -5,7 +5,7 @@ import com.example.tetonam.user.dto.JwtToken;
 import com.example.tetonam.user.domain.School;
 import com.example.tetonam.user.dto.*;
 import com.example.tetonam.user.service.UserService;
-import com.example.tetonam.user.token.JwtTokenProvider;
+import com.example.tetonam.user.token.AuthEmail;
 import com.example.tetonam.response.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
@@ -23,8 +23,6 @@ public class UserController {
 
     private final UserService userService;
 
-    private final JwtTokenProvider jwtTokenProvider;
-
 
     /**
      * 메인화면 정보반환
@@ -32,8 +30,7 @@ public class UserController {
      */
     @GetMapping("/home-my-info")
     @Operation(summary = "메인화면 유저정보 API", description = "메인화면에 표시할 유저정보를 반환합니다.")
-    public ResponseEntity<?> mainPageMyInfo(@RequestHeader("Authorization") String token) {
-        String email = jwtTokenProvider.getEmail(token.substring(7));
+    public ResponseEntity<?> mainPageMyInfo(@AuthEmail String email) {
         MainMyInfoResponseDto myInfo=userService.mainPageMyInfo(email);
         return ResponseEntity.ok().body(ApiResponse.onSuccess(myInfo));
     }
@@ -64,13 +61,12 @@ public class UserController {
 
     /**
      * 마이페이지 내 정보보기
-     * @param token
+     * @param email
      * @return
      */
     @GetMapping("/my-info")
     @Operation(summary = "마이페이지 API", description = "마이페이지 정보를 반환합니다.")
-    public ResponseEntity<?> myInfo(@RequestHeader("Authorization") String token) {
-        String email = jwtTokenProvider.getEmail(token.substring(7));
+    public ResponseEntity<?> myInfo(@AuthEmail String email) {
           MyInfoResponseDto myInfo= userService.myInfo(email);
         return ResponseEntity.ok().body(ApiResponse.onSuccess(myInfo));
     }
@@ -78,13 +74,12 @@ public class UserController {
     /**
      * 내 닉네임 보기
      *
-     * @param token
+     * @param email
      * @return
      */
     @GetMapping("/my-nickname")
     @Operation(summary = "내 닉네임 확인 API", description = "내 닉네임을 확인합니다.")
-    public ResponseEntity<?> findNickname(@RequestHeader("Authorization") String token) {
-        String email = jwtTokenProvider.getEmail(token.substring(7));
+    public ResponseEntity<?> findNickname(@AuthEmail String email) {
         String nickname = userService.findByNickname(email);
         return ResponseEntity.ok().body(ApiResponse.onSuccess(nickname));
     }
@@ -161,14 +156,13 @@ public class UserController {
 
     /**
      * mypage에서 비밀번호 재설정
-     * @param token
+     * @param email
      * @param password
      * @return
      */
     @PatchMapping("/mypage-password")
     @Operation(summary = "비밀번호 재설정 API", description = "비밀번호를 재설정합니다.")
-    public ResponseEntity<?> mypageResetPassword(@RequestHeader("Authorization") String token,@RequestParam("password") String password) {
-        String email = jwtTokenProvider.getEmail(token.substring(7));
+    public ResponseEntity<?> mypageResetPassword(@AuthEmail String email,@RequestParam("password") String password) {
         String result=userService.mypageResetPassword(email,password);
         return ResponseEntity.ok().body(ApiResponse.onSuccess(result));
     }
@@ -189,8 +183,7 @@ public class UserController {
 
     @PatchMapping("/mypage-nickname")
     @Operation(summary = "닉네임 재설정 API", description = "닉네임을 재설정합니다.")
-    public ResponseEntity<?> resetNickname(@RequestHeader("Authorization") String token,@RequestParam("nickname") String nickname) {
-        String email = jwtTokenProvider.getEmail(token.substring(7));
+    public ResponseEntity<?> resetNickname(@AuthEmail String email,@RequestParam("nickname") String nickname) {
         String result=userService.mypageResetNickname(email,nickname);
         return ResponseEntity.ok().body(ApiResponse.onSuccess(result));
     }
@@ -5,6 +5,7 @@ import com.example.tetonam.exception.handler.TokenHandler;
 import com.example.tetonam.user.token.JwtTokenProvider;
 import com.example.tetonam.response.ApiResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -34,10 +35,12 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
     // 1. Request Header에서 JWT 토큰 추출
     try {
       String token = resolveToken(httpServletRequest);
-      // 2. validateToken으로 토큰 유효성 검사
-      if (token != null && jwtTokenProvider.validateToken(token)) {
-        // 토큰이 유효할 경우 토큰에서 Authentication 객체를 가지고 와서 SecurityContext에 저장
-        Authentication authentication = jwtTokenProvider.getAuthentication(token);
+      // 2. verifyClaims로 토큰 유효성 검사 (요청당 한 번만 파싱)
+      if (token != null) {
+        Claims claims = jwtTokenProvider.verifyClaims(token);
+        // 토큰이 유효할 경우 claims로 Authentication 객체를 만들어 SecurityContext에 저장
+        // 컨트롤러는 @AuthEmail 로 여기서 넣은 값을 받는다
+        Authentication authentication = jwtTokenProvider.getAuthentication(claims);
         SecurityContextHolder.getContext().setAuthentication(authentication);
       }
     } catch (TokenHandler e) {
@@ -30,6 +30,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
                 FROM Counseling c
                 WHERE c.counselor = u
                   AND c.reservationTime = :time
+                  AND (c.status IS NULL OR c.status <> com.example.tetonam.counseling.domain.enums.Status.CANCEL)
               )
               
         """)
@@ -38,6 +39,10 @@ List<User> findAvailableCounselors(@Param("school") School school,
                                    @Param("role") Role role,
                                    @Param("time") LocalDateTime time);
 
+  // 상담사 가용 인덱스 워밍용 (학교까지 한번에)
+  @Query("SELECT DISTINCT u FROM User u JOIN FETCH u.school JOIN u.roles r WHERE r = :role")
+  List<User> findAllByRoleWithSchool(@Param("role") Role role);
+
   @Query("SELECT u.nickname FROM User u WHERE u.email = :email")
   String findNicknameByEmail(@org.springframework.data.repository.query.Param("email") String email);
 }
\ No newline at end of file
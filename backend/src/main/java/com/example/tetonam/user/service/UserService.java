@@ -1,6 +1,7 @@
 package com.example.tetonam.user.service;
 
 
+import com.example.tetonam.counseling.service.CounselorAvailabilityIndex;
 import com.example.tetonam.exception.handler.UserHandler;
 import com.example.tetonam.exception.handler.TokenHandler;
 import com.example.tetonam.user.dto.JwtToken;
@@ -36,6 +37,7 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final RedisTemplate<String, String> redisTemplate;
     private final SchoolRepository schoolRepository;
+    private final CounselorAvailabilityIndex counselorAvailabilityIndex;
 
 
     @Transactional
@@ -80,7 +82,9 @@ public class UserService {
 
         System.out.println(s.getName() + "DB");
         // 회원가입 성공 처리
-        UserDto userDto = UserDto.toDto(userRepository.save(signUpDto.toEntity(signUpDto, encodedPassword, s)));
+        User user = userRepository.save(signUpDto.toEntity(signUpDto, encodedPassword, s));
+        counselorAvailabilityIndex.registerCounselorAfterCommit(user);
+        UserDto userDto = UserDto.toDto(user);
         log.info("[signUp] 회원가입 성공: username = {}", signUpDto.getEmail());
 
         return userDto;
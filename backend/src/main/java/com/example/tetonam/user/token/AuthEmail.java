@@ -0,0 +1,15 @@
+package com.example.tetonam.user.token;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 로그인한 사용자의 이메일(JWT subject)을 컨트롤러 파라미터로 받는다.
+ * JwtAuthenticationFilter 가 검증해서 SecurityContext 에 넣어둔 값을 쓰므로 토큰을 다시 파싱하지 않는다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AuthEmail {
+}
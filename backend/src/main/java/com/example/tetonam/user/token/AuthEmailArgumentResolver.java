@@ -0,0 +1,36 @@
+package com.example.tetonam.user.token;
+
+import com.example.tetonam.exception.handler.TokenHandler;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * @AuthEmail String 파라미터에 SecurityContext 의 인증 정보(이메일)를 넣어준다.
+ */
+@Component
+public class AuthEmailArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(AuthEmail.class)
+                && String.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            throw new TokenHandler(ErrorStatus.NO_AUTHENTICATION_INFORMATION);
+        }
+        return authentication.getName();
+    }
+}
@@ -14,34 +14,79 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
     private final Key key;
+    // 불변이고 thread-safe 하므로 하나만 만들어서 재사용
+    private final JwtParser jwtParser;
+    // 검증한 토큰의 SHA-256 -> claims (같은 세션의 다음 요청은 파싱 / HMAC 검증을 건너뛴다)
+    private final Cache<String, Claims> verifiedTokens;
     private static final long REFRESH_TOKEN_EXPIRE_TIME = 7 * 24 * 60 * 60 * 1000L;
     private static final long ACCESS_TOKEN_EXPIRE_TIME = 30 * 60 * 1000L *100000;
 //    private static final long ACCESS_TOKEN_EXPIRE_TIME = 30 * 60 * 1000L ;
 
     // application.yml에서 secret 값 가져와서 key에 저장
-    public JwtTokenProvider(@Value("${jwt.secret}") String secretKey) {
+    public JwtTokenProvider(@Value("${jwt.secret}") String secretKey,
+                            @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+                            @Value("${jwt.cache.ttl-seconds:300}") long cacheTtlSeconds) {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        long cacheTtlNanos = TimeUnit.SECONDS.toNanos(cacheTtlSeconds);
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    // 캐시 유지 시간은 ttl-seconds 와 토큰 만료(exp) 중 먼저 오는 쪽까지
+                    @Override
+                    public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+                        Date expiration = claims.getExpiration();
+                        if (expiration == null) {
+                            return cacheTtlNanos;
+                        }
+                        long untilExpiration = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+                        return Math.max(0L, Math.min(cacheTtlNanos, untilExpiration));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     // Member 정보를 가지고 AccessToken, RefreshToken을 생성하는 메서드
@@ -89,8 +134,11 @@ public class JwtTokenProvider {
     // Jwt 토큰을 복호화하여 토큰에 들어있는 정보를 꺼내는 메서드
     public Authentication getAuthentication(String accessToken) {
         // Jwt 토큰 복호화
-        Claims claims = parseClaims(accessToken);
+        return getAuthentication(parseClaims(accessToken));
+    }
 
+    // 이미 검증한 claims 로 Authentication 생성 (토큰을 다시 파싱하지 않는다)
+    public Authentication getAuthentication(Claims claims) {
         if (claims.get("auth") == null) {
             throw new RuntimeException("권한 정보가 없는 토큰입니다.");
         }
@@ -108,13 +156,27 @@ public class JwtTokenProvider {
 
     // 토큰 정보를 검증하는 메서드
     public boolean validateToken(String token) {
+        verifyClaims(token);
+        return true;
+    }
+
+    // 토큰을 검증하고 claims 를 반환한다. (필터에서 요청당 한 번만 파싱하도록)
+    public Claims verifyClaims(String token) {
+        if (token == null) {
+            throw new TokenHandler(ErrorStatus.INVALID_JWT_TOKEN);
+        }
+        String digest = digestOf(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            // 서명 / 만료 검증을 통과한 토큰만 캐시에 넣는다
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(digest, claims);
+            return claims;
         } catch (SecurityException | MalformedJwtException e) {
+            // 서명이 맞지 않는 토큰 (jjwt 의 SignatureException 도 SecurityException 이다)
             throw new TokenHandler(ErrorStatus.ACCESS_TOKEN_INVALID);
         } catch (ExpiredJwtException e) {
             throw new TokenHandler(ErrorStatus.ACCESS_TOKEN_EXPIRED);
@@ -129,24 +191,24 @@ public class JwtTokenProvider {
     // accessToken 정보확인
     private Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(accessToken)
-                    .getBody();
+            return jwtParser.parseClaimsJws(accessToken).getBody();
         } catch (ExpiredJwtException e) { //access토큰이 만료됐을때 처리
             return e.getClaims();
         }
     }
 
     public String getEmail(String token) {
+        return verifyClaims(token).getSubject();
+    }
 
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    // 토큰 원문 대신 SHA-256 을 캐시 키로 쓴다 (HMAC 검증 + JSON 파싱보다 훨씬 싸다)
+    private static String digestOf(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
 }
\ No newline at end of file
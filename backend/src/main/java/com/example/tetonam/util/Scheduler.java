@@ -1,19 +1,23 @@
 package com.example.tetonam.util;
 
 
-import com.example.tetonam.counseling.domain.Counseling;
-import com.example.tetonam.counseling.domain.enums.Status;
-import com.example.tetonam.counseling.repository.CounselingRepository;
+import com.example.tetonam.counseling.service.CounselingCloseQueue;
+import com.example.tetonam.counseling.service.CounselingCloseService;
+import com.example.tetonam.counseling.service.CounselorAvailabilityIndex;
 import com.example.tetonam.kakao.dto.TokenResponseDto;
 import com.example.tetonam.exception.handler.TokenHandler;
+import com.example.tetonam.image.service.AiJobWorker;
+import com.example.tetonam.image.service.AiResultNotifier;
 import com.example.tetonam.kakao.domain.KakaoToken;
 import com.example.tetonam.kakao.repository.KakaoTokenRepository;
+import com.example.tetonam.outbox.service.OutboxRelay;
 import com.example.tetonam.response.code.status.ErrorStatus;
+import com.example.tetonam.util.leader.SchedulerLeaderElection;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
@@ -23,31 +27,110 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class Scheduler {
 
     private final WebClientUtil webClientUtil;
     private final KakaoTokenRepository kakaoTokenRepository;
-    private final CounselingRepository counselingRepository;
+    private final CounselingCloseService counselingCloseService;
+    private final CounselingCloseQueue counselingCloseQueue;
+    private final CounselorAvailabilityIndex counselorAvailabilityIndex;
+    private final SchedulerLeaderElection schedulerLeaderElection;
+    private final AiJobWorker aiJobWorker;
+    private final AiResultNotifier aiResultNotifier;
+    private final OutboxRelay outboxRelay;
+    private final reactor.core.scheduler.Scheduler persistenceScheduler;
 
     @Value("${kakao.client_id}")
     private String clientId;
 
-    @Scheduled(fixedRate = 60000)
-    @Transactional
+    @Value("${counseling.close.delay-minutes:60}")
+    private long closeDelayMinutes;
+
+    @Value("${counseling.close.chunk-size:500}")
+    private int closeChunkSize;
+
+    // 예약별 close 타이머 중 만기된 것만 꺼내서 close
+    @Scheduled(fixedDelayString = "${counseling.close.poll-interval-ms:1000}")
+    public void closeDueCounseling(){
+        if (!schedulerLeaderElection.isLeader()) {
+            return;
+        }
+        List<Long> dueIds;
+        do {
+            dueIds = counselingCloseQueue.popDue(closeChunkSize);
+            counselingCloseService.closeByIds(dueIds);
+        } while (dueIds.size() >= closeChunkSize);
+    }
+
+    // 타이머 큐가 놓친 예약을 위한 보정용 sweep (타이머가 주 경로라 주기는 길게)
+    @Scheduled(fixedRateString = "${counseling.close.sweep-interval-ms:600000}")
     public void closeCounseling(){
-        LocalDateTime thresholdTime = LocalDateTime.now().minusHours(1);
+        // 인덱스는 인스턴스마다 따로 들고 있으므로 리더가 아니어도 비운다
+        counselorAvailabilityIndex.evictExpired();
+        if (!schedulerLeaderElection.isLeader()) {
+            return;
+        }
+        LocalDateTime thresholdTime = LocalDateTime.now().minusMinutes(closeDelayMinutes);
+
+        counselingCloseService.closeExpired(thresholdTime);
+
+    }
+
+    // AI 분석 작업 처리 (SKIP LOCKED 로 나눠 가져가므로 모든 인스턴스에서 돈다)
+    @Scheduled(fixedDelayString = "${ai.job.poll-interval-ms:1000}")
+    public void pollAiJobs(){
+        aiJobWorker.poll();
+    }
 
-        List<Counseling> counselingsToClose = counselingRepository.findCounselingsToClose(Status.OPEN, thresholdTime);
-        for (Counseling counseling : counselingsToClose) {
-            counseling.setStatus(Status.CLOSE);
+    // 실패했거나 작업이 없는 그림의 AI 분석을 느린 주기로 다시 등록 (분산락으로 한 인스턴스만 돈다)
+    @Scheduled(fixedDelayString = "${ai.job.orphan-interval-ms:1800000}",
+            initialDelayString = "${ai.job.orphan-interval-ms:1800000}")
+    public void requeueAiJobs(){
+        aiJobWorker.recoverOrphans();
+    }
+
+    // 열려 있는 AI 결과 SSE 연결이 프록시 read timeout 에 끊기지 않도록
+    @Scheduled(fixedDelayString = "${ai.result.heartbeat-interval-ms:30000}")
+    public void sendAiResultHeartbeat(){
+        aiResultNotifier.heartbeat();
+    }
+
+    // 결과 알림 outbox 릴레이 (SKIP LOCKED 로 나눠 가져가므로 모든 인스턴스에서 돈다)
+    @Scheduled(fixedDelayString = "${outbox.ai-result.poll-interval-ms:500}")
+    public void relayAiResultOutbox(){
+        outboxRelay.relayAiResults();
+    }
+
+    // Kakao 전송이 늦어져도 결과 알림이 밀리지 않도록 스케줄러 스레드를 따로 쓴다
+    @Scheduled(fixedDelayString = "${outbox.kakao-message.poll-interval-ms:1000}")
+    public void relayKakaoMessageOutbox(){
+        outboxRelay.relayKakaoMessages();
+    }
+
+    @Scheduled(cron = "0 30 4 * * *")
+    public void purgeOutbox(){
+        if (!schedulerLeaderElection.isLeader()) {
+            return;
         }
+        outboxRelay.purge();
+    }
 
+    // 다른 인스턴스에서 들어온 예약까지 반영되도록 상담사 가용 인덱스를 주기적으로 다시 맞춘다
+    @Scheduled(fixedDelayString = "${counseling.availability-index.refresh-interval-ms:300000}",
+            initialDelayString = "${counseling.availability-index.refresh-interval-ms:300000}")
+    public void refreshCounselorAvailabilityIndex(){
+        counselorAvailabilityIndex.rebuild();
     }
 
     @Scheduled(cron = "0 0 0/5 * * *")
     public void reIssueKakaoToken(){
+        long fencingToken = schedulerLeaderElection.currentFencingToken();
+        if (fencingToken < 0) {
+            return;
+        }
         String url="https://kauth.kakao.com/oauth/token";
         KakaoToken token=kakaoTokenRepository.findById(1L)
                 .orElseThrow(()-> new TokenHandler(ErrorStatus._INTERNAL_SERVER_ERROR));
@@ -56,9 +139,15 @@ public class Scheduler {
         formData.add("client_id", clientId);
         formData.add("refresh_token", token.getRefreshToken());
 
-        webClientUtil.postReIssue(url,formData, TokenResponseDto.class).subscribe(result -> {;
-            token.setAccessToken(result.getAccessToken());
-            kakaoTokenRepository.save(token);
+        // 토큰 저장(JPA)은 netty event loop 가 아닌 persistenceScheduler 에서
+        webClientUtil.postReIssue(url,formData, TokenResponseDto.class)
+                .publishOn(persistenceScheduler)
+                .subscribe(result -> {
+            // 리더가 바뀐 뒤 늦게 도착한 이전 리더의 응답은 펜싱토큰 비교로 버린다
+            int updated = kakaoTokenRepository.updateAccessTokenFenced(token.getId(), result.getAccessToken(), fencingToken);
+            if (updated == 0) {
+                log.warn("[reIssueKakaoToken] 더 최신 리더가 갱신한 토큰이라 저장하지 않음: fencingToken = {}", fencingToken);
+            }
 
         }, error -> {
             error.printStackTrace();
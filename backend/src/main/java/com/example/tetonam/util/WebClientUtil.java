@@ -1,6 +1,5 @@
 package com.example.tetonam.util;
 
-import com.example.tetonam.config.WebClientConfig;
 import com.example.tetonam.exception.handler.UserHandler;
 import com.example.tetonam.response.code.status.ErrorStatus;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +11,7 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 
@@ -19,10 +19,11 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class WebClientUtil {
 
-    private final WebClientConfig webClientConfig;
+    // WebClientConfig 의 공유 WebClient (커넥션 풀을 같이 쓴다)
+    private final WebClient webClient;
 
     public <T> Mono<T> postReIssue(String url, MultiValueMap<String, String> formData, Class<T> responseDtoClass) {
-        return webClientConfig.webClient()
+        return webClient
                 .post()
                 .uri(url)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)  // Content-Type 지정
@@ -38,7 +39,7 @@ public class WebClientUtil {
 
 
     public <T> Mono<T> messageSandPost(String url, MultiValueMap<String, String> formData, Class<T> responseDtoClass,String accessToken) {
-        return webClientConfig.webClient()
+        return webClient
                 .post()
                 .uri(url)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)  // Content-Type 지정
@@ -53,7 +54,7 @@ public class WebClientUtil {
     }
 
     public <T> Mono<T> get(String url, Class<T> responseDtoClass) {
-        return webClientConfig.webClient().method(HttpMethod.GET)
+        return webClient.method(HttpMethod.GET)
                 .uri(url)
                 .retrieve()
                 .onStatus(HttpStatusCode::is4xxClientError, clientResponse -> Mono.error(new UserHandler(ErrorStatus.AI_CLIENT_ERROR)))
@@ -63,7 +64,7 @@ public class WebClientUtil {
     }
 
     public <T, V> Mono<T> post(String url, V requestDto, Class<T> responseDtoClass) {
-        return webClientConfig.webClient().method(HttpMethod.POST)
+        return webClient.method(HttpMethod.POST)
                 .uri(url)
                 .bodyValue(requestDto)
                 .retrieve()
@@ -1,24 +1,58 @@
 package com.example.tetonam.util.aop;
 
 
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 // * Spring Expression Language Parser
+// * 파싱 결과는 표현식 문자열에만 달려 있으므로 key 문자열로 캐싱하고 (같은 키를 쓰는 메서드끼리 공유),
+// * MIXED 컴파일 모드로 몇 번 해석된 뒤부터는 바이트코드로 평가한다.
+// * SimpleEvaluationContext 라서 T(...) 타입 참조와 @bean 참조는 평가할 때 예외가 난다. (락 키에는 파라미터 변수만 쓴다)
 // */
 public class CustomSpringELParser {
+    private static final ExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, CustomSpringELParser.class.getClassLoader()));
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    private static final Map<String, Expression> EXPRESSION_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Method, String[]> PARAMETER_NAMES_CACHE = new ConcurrentHashMap<>();
+
     private CustomSpringELParser() {
     }
 
-    public static Object getDynamicValue(String[] parameterNames, Object[] args, String key) {
-        ExpressionParser parser = new SpelExpressionParser();
-        StandardEvaluationContext context = new StandardEvaluationContext();
+    public static Object getDynamicValue(Method method, Object[] args, String key) {
+        String[] parameterNames = PARAMETER_NAMES_CACHE.computeIfAbsent(method, CustomSpringELParser::parameterNamesOf);
+        Expression expression = EXPRESSION_CACHE.computeIfAbsent(key, PARSER::parseExpression);
 
+        // StandardEvaluationContext 는 생성 비용이 커서 변수 바인딩 + 인스턴스 메서드 호출만 되는 가벼운 컨텍스트를 쓴다
+        EvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding()
+                .withInstanceMethods()
+                .build();
         for (int i = 0; i < parameterNames.length; i++) {
             context.setVariable(parameterNames[i], args[i]);
         }
 
-        return parser.parseExpression(key).getValue(context, Object.class);
+        return expression.getValue(context, Object.class);
+    }
+
+    private static String[] parameterNamesOf(Method method) {
+        String[] names = PARAMETER_NAME_DISCOVERER.getParameterNames(method);
+        if (names != null) {
+            return names;
+        }
+        return Arrays.stream(method.getParameters()).map(Parameter::getName).toArray(String[]::new);
     }
-}
\ No newline at end of file
+}
@@ -35,4 +35,24 @@ public @interface DistributedLock {
      * 락을 획득한 이후 leaseTime 이 지나면 락을 해제한다
      */
     long leaseTime() default 6L;
+
+    /**
+     * 로컬 락 선행 여부 (default - false)
+     * true 면 같은 인스턴스 안에서는 striped 로컬 락으로 먼저 줄을 세우고,
+     * 로컬 락을 잡은 요청만 Redis 락을 시도한다. (인스턴스당 Redis 경합자는 키마다 1개)
+     */
+    boolean localFirst() default false;
+
+    /**
+     * lease 자동 연장 여부 (default - false)
+     * true 면 작업이 끝날 때까지 leaseTime 의 1/3 마다 lease 를 연장한다.
+     * 인스턴스가 죽으면 연장이 멈추므로 leaseTime 은 짧게 두어도 된다.
+     */
+    boolean renewLease() default false;
+
+    /**
+     * lease 를 연장하는 최대 보유 시간 (default - 30s, renewLease = true 일 때만 사용)
+     * 이 시간이 지나면 연장을 멈추고, 남은 lease 가 끝나면 락이 풀린다
+     */
+    long maxHoldTime() default 30L;
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.tetonam.util.aop;
 
+import com.example.tetonam.exception.GeneralException;
+import com.example.tetonam.response.code.status.ErrorStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -11,9 +13,13 @@ import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * @DistributedLock 선언 시 수행되는 Aop class
+ * 락을 대기시간 안에 얻지 못하면 void 메서드는 실행하지 않고 넘어가고 (다른 인스턴스가 이미 돌고 있는 작업 등),
+ * 값을 반환하는 메서드는 GeneralException(LOCK_TIMEOUT) 을 던진다.
  */
 @Aspect
 @Component
@@ -24,6 +30,9 @@ public class DistributedLockAop {
 
     private final RedissonClient redissonClient;
     private final AopForTransaction aopForTransaction;
+    private final LocalLockStripes localLockStripes;
+    private final DistributedLockMetrics lockMetrics;
+    private final LockLeaseWatchdog lockLeaseWatchdog;
 
     @Around("@annotation(com.example.tetonam.util.aop.DistributedLock)")
     public Object lock(final ProceedingJoinPoint joinPoint) throws Throwable {
@@ -31,26 +40,73 @@ public class DistributedLockAop {
         Method method = signature.getMethod();
         DistributedLock distributedLock = method.getAnnotation(DistributedLock.class);
 
-        String key = REDISSON_LOCK_PREFIX + CustomSpringELParser.getDynamicValue(signature.getParameterNames(), joinPoint.getArgs(), distributedLock.key());
+        String dynamicKey = String.valueOf(CustomSpringELParser.getDynamicValue(method, joinPoint.getArgs(), distributedLock.key()));
+        String key = REDISSON_LOCK_PREFIX + dynamicKey;
         RLock rLock = redissonClient.getLock(key);  // (1)
+        ReentrantLock localLock = distributedLock.localFirst() ? localLockStripes.get(key) : null;
+        boolean localLocked = false;
+        boolean available = false;
+        long waitStarted = System.nanoTime();
+        long acquiredAt = 0L;
+        LockLeaseWatchdog.Renewal renewal = null;
 
         try {
-            boolean available = rLock.tryLock(distributedLock.waitTime(), distributedLock.leaseTime(), distributedLock.timeUnit());  // (2)
+            long waitNanos = distributedLock.timeUnit().toNanos(distributedLock.waitTime());
+            long deadline = waitStarted + waitNanos;
+            if (localLock != null) {
+                // 같은 인스턴스의 경쟁자와는 로컬에서 먼저 줄을 선다
+                localLocked = localLock.tryLock(waitNanos, TimeUnit.NANOSECONDS);
+                if (!localLocked) {
+                    lockMetrics.recordWait(dynamicKey, System.nanoTime() - waitStarted, false);
+                    log.warn("[DistributedLock] 로컬 락 대기시간 초과: key = {}", key);
+                    return onTimeout(method);
+                }
+                waitNanos = Math.max(0L, deadline - System.nanoTime());
+            }
+
+            available = rLock.tryLock(waitNanos, distributedLock.timeUnit().toNanos(distributedLock.leaseTime()), TimeUnit.NANOSECONDS);  // (2)
+            acquiredAt = System.nanoTime();
+            lockMetrics.recordWait(dynamicKey, acquiredAt - waitStarted, available);
             if (!available) {
-                return false;
+                log.warn("[DistributedLock] 락 대기시간 초과: key = {}", key);
+                return onTimeout(method);
+            }
+            if (distributedLock.renewLease()) {
+                renewal = lockLeaseWatchdog.start(key, dynamicKey,
+                        distributedLock.timeUnit().toMillis(distributedLock.leaseTime()),
+                        distributedLock.timeUnit().toMillis(distributedLock.maxHoldTime()));
             }
 
             return aopForTransaction.proceed(joinPoint);  // (3)
         } catch (InterruptedException e) {
             throw new InterruptedException();
         } finally {
+            if (renewal != null) {
+                renewal.cancel();
+            }
             try {
-                rLock.unlock();   // (4)
+                // 시도하지 않았거나 얻지 못한 Redis 락은 풀지 않는다
+                if (available) {
+                    lockMetrics.recordHold(dynamicKey, System.nanoTime() - acquiredAt);
+                    rLock.unlock();   // (4)
+                }
             } catch (IllegalMonitorStateException e) {
-                log.info("Redisson Lock Already UnLock {} {}",
-                        "serviceName", method.getName()+"key", key
-                );
+                // 락을 얻었는데 풀 때 이미 내 락이 아니면 작업 도중 lease 가 만료된 것
+                lockMetrics.recordLeaseExpired(dynamicKey);
+                log.warn("[DistributedLock] 작업 중 lease 만료: key = {}, method = {}", key, method.getName());
+            } finally {
+                if (localLocked) {
+                    localLock.unlock();
+                }
             }
         }
     }
+
+    // 반환 타입이 있는 메서드에 false 를 돌려주면 호출한 쪽에서 ClassCastException 이 나므로 예외로 알린다
+    private static Object onTimeout(Method method) {
+        if (method.getReturnType() == void.class) {
+            return null;
+        }
+        throw new GeneralException(ErrorStatus.LOCK_TIMEOUT);
+    }
 }
\ No newline at end of file
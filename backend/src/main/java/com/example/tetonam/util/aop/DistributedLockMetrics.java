@@ -0,0 +1,69 @@
+package com.example.tetonam.util.aop;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @DistributedLock 대기/보유 시간과 실패 횟수를 락 키 prefix 별로 기록
+ * (예: counselor:3:time:202508011500 -> prefix "counselor")
+ * waitTime / leaseTime 을 실제 분포를 보고 정할 수 있도록 대기/보유 시간은 히스토그램으로 남긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DistributedLockMetrics {
+    private final MeterRegistry meterRegistry;
+
+    public void recordWait(String key, long nanos, boolean acquired) {
+        Timer.builder("distributed.lock.wait")
+                .description("@DistributedLock 락 획득까지 대기한 시간")
+                .tag("prefix", prefixOf(key))
+                .tag("result", acquired ? "acquired" : "timeout")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            Counter.builder("distributed.lock.acquire.failures")
+                    .description("waitTime 안에 락을 얻지 못한 횟수")
+                    .tag("prefix", prefixOf(key))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    public void recordHold(String key, long nanos) {
+        Timer.builder("distributed.lock.hold")
+                .description("@DistributedLock 락을 잡고 있던 시간")
+                .tag("prefix", prefixOf(key))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 작업이 끝나기 전에 leaseTime 이 지나 락이 이미 풀려 있던 경우
+    public void recordLeaseExpired(String key) {
+        Counter.builder("distributed.lock.lease.expired")
+                .description("unlock 시점에 lease 가 이미 만료되어 있던 횟수")
+                .tag("prefix", prefixOf(key))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // renewLease 락의 lease 를 watchdog 이 연장한 횟수
+    public void recordLeaseRenewal(String key) {
+        Counter.builder("distributed.lock.lease.renewals")
+                .description("watchdog 이 lease 를 연장한 횟수")
+                .tag("prefix", prefixOf(key))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String prefixOf(String key) {
+        int separator = key.indexOf(':');
+        return separator < 0 ? key : key.substring(0, separator);
+    }
+}
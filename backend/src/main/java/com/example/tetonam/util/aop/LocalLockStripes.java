@@ -0,0 +1,35 @@
+package com.example.tetonam.util.aop;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 락 키를 해시해서 고정 개수의 JVM 로컬 락 중 하나에 대응시키는 striped lock
+ * 같은 키를 노리는 같은 인스턴스의 요청들은 여기서 먼저 줄을 서고, 줄의 맨 앞 요청만 Redis 락을 다툰다.
+ * 서로 다른 키가 같은 stripe 에 걸릴 수는 있지만(로컬에서만 잠깐 직렬화) 정확성에는 영향이 없다.
+ */
+@Component
+public class LocalLockStripes {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public LocalLockStripes(@Value("${distributed-lock.local-stripes:256}") int stripeCount) {
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            // 먼저 온 요청이 먼저 Redis 락을 시도하도록 공정 모드
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.mask = size - 1;
+    }
+
+    public ReentrantLock get(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.tetonam.util.aop;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @DistributedLock(renewLease = true) 용 lease 연장기
+ * 락은 짧은 leaseTime 으로 잡고, 작업이 살아있는 동안 leaseTime 의 1/3 마다 lease 를 다시 leaseTime 으로 늘린다.
+ * 인스턴스가 죽으면 연장이 멈추므로 락은 leaseTime 안에 풀리고,
+ * maxHoldTime 이 지나면 더 이상 연장하지 않아 락을 무한정 쥐고 있지 못하게 한다.
+ */
+@Slf4j
+@Component
+public class LockLeaseWatchdog {
+    // Redisson 락 해시에 내 필드(클라이언트ID:스레드ID)가 남아있을 때만 연장
+    private static final String RENEW_SCRIPT =
+            "if redis.call('hexists', KEYS[1], ARGV[2]) == 1 then " +
+            "  redis.call('pexpire', KEYS[1], ARGV[1]) " +
+            "  return 1 " +
+            "end " +
+            "return 0";
+
+    private final RedissonClient redissonClient;
+    private final DistributedLockMetrics lockMetrics;
+    private final ScheduledExecutorService executor;
+
+    public LockLeaseWatchdog(RedissonClient redissonClient,
+                             DistributedLockMetrics lockMetrics,
+                             @Value("${distributed-lock.watchdog-threads:2}") int threads) {
+        this.redissonClient = redissonClient;
+        this.lockMetrics = lockMetrics;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "lock-watchdog-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 락을 잡은 스레드에서 호출한다. 반환된 Renewal 은 unlock 전에 반드시 cancel 해야 한다.
+     */
+    public Renewal start(String key, String metricKey, long leaseMillis, long maxHoldMillis) {
+        String lockField = redissonClient.getId() + ":" + Thread.currentThread().getId();
+        long period = Math.max(1L, leaseMillis / 3);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxHoldMillis);
+
+        Renewal renewal = new Renewal();
+        renewal.future = executor.scheduleWithFixedDelay(() -> {
+            if (System.nanoTime() - deadline >= 0) {
+                log.warn("[DistributedLock] 최대 보유시간 초과로 lease 연장 중단: key = {}, maxHold = {}ms", key, maxHoldMillis);
+                renewal.cancel();
+                return;
+            }
+            try {
+                Long renewed = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                        RScript.Mode.READ_WRITE,
+                        RENEW_SCRIPT,
+                        RScript.ReturnType.INTEGER,
+                        List.<Object>of(key),
+                        String.valueOf(leaseMillis), lockField);
+                if (renewed != null && renewed == 1L) {
+                    lockMetrics.recordLeaseRenewal(metricKey);
+                } else {
+                    // 이미 풀렸거나 만료된 락은 더 연장할 게 없다
+                    renewal.cancel();
+                }
+            } catch (RuntimeException e) {
+                // 한 번 실패해도 다음 주기에 다시 시도한다 (lease 의 1/3 마다 돌기 때문에 두 번까지는 여유가 있다)
+                log.warn("[DistributedLock] lease 연장 실패: key = {}", key, e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+        return renewal;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static class Renewal {
+        private volatile ScheduledFuture<?> future;
+
+        public void cancel() {
+            ScheduledFuture<?> current = future;
+            if (current != null) {
+                current.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.tetonam.util.leader;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 여러 backend 인스턴스 중 하나만 @Scheduled 작업을 수행하도록 하는 lease 기반 리더 선출
+ * 리더 키에 "인스턴스ID:펜싱토큰" 을 PX lease 로 저장하고 heartbeat 마다 lease 를 연장한다.
+ * 리더가 바뀔 때마다 펜싱토큰이 1씩 증가하므로, 늦게 깨어난 이전 리더의 쓰기는 토큰 비교로 걸러낼 수 있다.
+ */
+@Slf4j
+@Component
+public class SchedulerLeaderElection {
+    private static final String LEADER_KEY = "{SCHEDULER}:LEADER";
+    private static final String FENCING_KEY = "{SCHEDULER}:LEADER:FENCING";
+    private static final long NOT_LEADER = -1L;
+
+    // 리더 키가 없으면 펜싱토큰을 올리고 차지, 내 키면 lease 연장, 남의 키면 -1
+    private static final String ACQUIRE_OR_RENEW_SCRIPT =
+            "local current = redis.call('get', KEYS[1]) " +
+            "if current == false then " +
+            "  local token = redis.call('incr', KEYS[2]) " +
+            "  redis.call('set', KEYS[1], ARGV[1] .. ':' .. token, 'PX', ARGV[2]) " +
+            "  return token " +
+            "end " +
+            "local sep = string.find(current, ':', 1, true) " +
+            "if sep ~= nil and string.sub(current, 1, sep - 1) == ARGV[1] then " +
+            "  redis.call('pexpire', KEYS[1], ARGV[2]) " +
+            "  return tonumber(string.sub(current, sep + 1)) " +
+            "end " +
+            "return -1";
+
+    private static final String RELEASE_SCRIPT =
+            "local current = redis.call('get', KEYS[1]) " +
+            "if current ~= false and string.sub(current, 1, string.len(ARGV[1]) + 1) == ARGV[1] .. ':' then " +
+            "  return redis.call('del', KEYS[1]) " +
+            "end " +
+            "return 0";
+
+    private final RedissonClient redissonClient;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Counter acquiredCounter;
+    private final Counter lostCounter;
+
+    @Value("${scheduler.leader.lease-ms:15000}")
+    private long leaseMillis;
+
+    private volatile long fencingToken = NOT_LEADER;
+    // lease 가 Redis 보다 먼저 끝난 것으로 간주해서 두 인스턴스가 동시에 리더로 동작하지 않게 한다
+    private volatile long localLeaseDeadline = 0L;
+
+    public SchedulerLeaderElection(RedissonClient redissonClient, MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.acquiredCounter = Counter.builder("scheduler.leader.changes")
+                .tag("event", "acquired")
+                .description("이 인스턴스가 스케줄러 리더가 된 횟수")
+                .register(meterRegistry);
+        this.lostCounter = Counter.builder("scheduler.leader.changes")
+                .tag("event", "lost")
+                .description("이 인스턴스가 스케줄러 리더를 잃은 횟수")
+                .register(meterRegistry);
+        Gauge.builder("scheduler.leader", this, election -> election.isLeader() ? 1 : 0)
+                .description("현재 이 인스턴스가 스케줄러 리더인지 (1/0)")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${scheduler.leader.heartbeat-ms:5000}")
+    public void heartbeat() {
+        long started = System.currentTimeMillis();
+        long token;
+        try {
+            Long result = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE,
+                    ACQUIRE_OR_RENEW_SCRIPT,
+                    RScript.ReturnType.INTEGER,
+                    List.<Object>of(LEADER_KEY, FENCING_KEY),
+                    instanceId, String.valueOf(leaseMillis));
+            token = result == null ? NOT_LEADER : result;
+        } catch (RuntimeException e) {
+            // Redis 에 닿지 않으면 lease 를 연장할 수 없으므로 로컬 deadline 까지만 리더로 남는다
+            log.warn("[SchedulerLeader] heartbeat 실패: instance = {}", instanceId, e);
+            if (fencingToken != NOT_LEADER && System.currentTimeMillis() >= localLeaseDeadline) {
+                stepDown();
+            }
+            return;
+        }
+
+        if (token == NOT_LEADER) {
+            if (fencingToken != NOT_LEADER) {
+                stepDown();
+            }
+            return;
+        }
+        if (fencingToken != token) {
+            acquiredCounter.increment();
+            log.info("[SchedulerLeader] 스케줄러 리더 획득: instance = {}, fencingToken = {}", instanceId, token);
+        }
+        fencingToken = token;
+        // 스크립트 호출 직전 시각 기준, lease 의 2/3 만 믿는다
+        localLeaseDeadline = started + leaseMillis * 2 / 3;
+    }
+
+    public boolean isLeader() {
+        return fencingToken != NOT_LEADER && System.currentTimeMillis() < localLeaseDeadline;
+    }
+
+    /**
+     * 리더일 때의 펜싱토큰, 리더가 아니면 -1
+     */
+    public long currentFencingToken() {
+        return isLeader() ? fencingToken : NOT_LEADER;
+    }
+
+    // 종료 시 lease 만료를 기다리지 않고 바로 다른 인스턴스가 리더가 되도록 키를 지운다
+    @PreDestroy
+    public void release() {
+        if (fencingToken == NOT_LEADER) {
+            return;
+        }
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE,
+                    RELEASE_SCRIPT,
+                    RScript.ReturnType.INTEGER,
+                    List.<Object>of(LEADER_KEY),
+                    instanceId);
+        } catch (RuntimeException e) {
+            log.warn("[SchedulerLeader] 리더 반납 실패: instance = {}", instanceId, e);
+        }
+        stepDown();
+    }
+
+    private void stepDown() {
+        log.info("[SchedulerLeader] 스케줄러 리더 상실: instance = {}, fencingToken = {}", instanceId, fencingToken);
+        fencingToken = NOT_LEADER;
+        localLeaseDeadline = 0L;
+        lostCounter.increment();
+    }
+}
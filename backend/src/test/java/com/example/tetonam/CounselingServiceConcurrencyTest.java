@@ -1,115 +1,180 @@
-// package com.example.tetonam;
-
-// import com.example.tetonam.counseling.dto.CounselingReserveRequestDto;
-// import com.example.tetonam.counseling.service.CounselingService;
-// import com.example.tetonam.user.domain.User;
-// import com.example.tetonam.user.domain.enums.Gender;
-// import com.example.tetonam.user.domain.enums.Role;
-// import com.example.tetonam.user.repository.UserRepository;
-// import jakarta.transaction.Transactional;
-// import org.junit.jupiter.api.BeforeEach;
-// import org.junit.jupiter.api.Test;
-// import org.springframework.beans.factory.annotation.Autowired;
-// import org.springframework.boot.test.context.SpringBootTest;
-
-// import java.time.LocalDateTime;
-// import java.time.format.DateTimeFormatter;
-// import java.util.ArrayList;
-// import java.util.Collections;
-// import java.util.List;
-// import java.util.concurrent.*;
-
-// import static org.assertj.core.api.Assertions.assertThat;
-// @SpringBootTest
-// @Transactional
-// class CounselingServiceConcurrencyTest {
-
-//     @Autowired
-//     private CounselingService counselingService;
-
-//     @Autowired
-//     private UserRepository userRepository;
-
-//     private List<String> studentEmails;
-//     private Long counselorId;
-//     private LocalDateTime reserveTime;
-//     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
-
-//     @BeforeEach
-//     void setUp() {
-//         // 테스트용 상담사 (admin1@naver.com)
-//         User counselor = userRepository.findByEmail("admin1@naver.com")
-//                 .orElseThrow(() -> new RuntimeException("상담사 계정이 없습니다."));
-
-//         counselorId = counselor.getId();
-//         reserveTime = LocalDateTime.of(2025, 8, 1, 15, 0);
-//         studentEmails = new ArrayList<>();
-
-//         // 100명의 테스트용 학생 계정 생성
-//         for (int i = 0; i < 100; i++) {
-//             String email = "student" + i + "@naver.com";
-//             studentEmails.add(email);
-
-//             if (!userRepository.existsByEmail(email)) {
-//                 User student = User.builder()
-//                         .email(email)
-//                         .password("test1234")
-//                         .birthday("1995-07-22")
-//                         .name("학생" + i)
-//                         .nickname("test"+i)
-//                         .phone("010-1234-1234")
-//                         .gender(Gender.MALE)
-//                         .roles(Collections.singletonList(Role.USER))
-//                         .school(counselor.getSchool()) // 같은 학교로 설정
-//                         .build();
-//                 userRepository.save(student);
-//             }
-//         }
-//     }
-
-//     @Test
-//     void 동시에_100명이_같은상담사를_같은시간에_예약하면_1명만_성공해야한다() throws InterruptedException {
-//         int threadCount = 100;
-//         ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
-//         CountDownLatch latch = new CountDownLatch(threadCount);
-//         List<Future<String>> results = new ArrayList<>();
-
-//         for (String email : studentEmails) {
-//             results.add(executorService.submit(() -> {
-//                 try {
-
-//                     CounselingReserveRequestDto dto = CounselingReserveRequestDto.builder()
-//                             .CounselorId(counselorId)
-//                             .time(reserveTime)
-//                             .types("심리")
-//                             .build();
-//                     String lockKey="counselor:" + dto.getCounselorId() + ":time:" + dto.getTime().format(FORMATTER);
-
-
-//                     return counselingService.createCounselingWithLock(email, dto,lockKey);
-//                 } catch (Exception e) {
-//                     return "예약 실패: " + e.getMessage();
-//                 } finally {
-//                     latch.countDown();
-//                 }
-//             }));
-//         }
-
-//         latch.await();
-//         executorService.shutdown();
-
-//         long successCount = results.stream()
-//                 .map(future -> {
-//                     try {
-//                         return future.get();
-//                     } catch (Exception e) {
-//                         return e.toString();
-//                     }
-//                 })
-//                 .peek(System.out::println)
-//                 .filter(msg -> msg.contains("예약 되었습니다"))
-//                 .count();
-
-//         assertThat(successCount).isEqualTo(1); // ✅ 단 1명만 예약에 성공해야 함
-//     }
-// }
+package com.example.tetonam;
+
+import com.example.tetonam.counseling.dto.CounselingReserveRequestDto;
+import com.example.tetonam.counseling.repository.CounselingRepository;
+import com.example.tetonam.counseling.service.CounselingReservationService;
+import com.example.tetonam.counseling.service.enums.ReservationMode;
+import com.example.tetonam.image.domain.DrawingList;
+import com.example.tetonam.image.repository.DrawingListRepository;
+import com.example.tetonam.user.domain.User;
+import com.example.tetonam.user.domain.enums.Gender;
+import com.example.tetonam.user.domain.enums.Role;
+import com.example.tetonam.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 예약 방식(counseling.reservation.mode)마다 같은 상담사 / 같은 시간에 동시에 예약하면 1명만 성공하는지 확인한다.
+ * 트랜잭션을 걸면 스레드끼리 커밋을 볼 수 없으므로 테스트 트랜잭션 없이 돌리고, 방식마다 다른 시간을 쓴다.
+ * 방식 비교용으로 방식마다 전체 소요시간(wall-clock)과 요청별 지연(p50 / p95 / p99 / max)을 출력한다.
+ * (첫 방식은 JIT / 커넥션 워밍업이 섞이므로 여러 번 돌린 값을 비교한다)
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class CounselingServiceConcurrencyTest {
+    private static final String COUNSELOR_EMAIL = "concurrency-counselor@naver.com";
+    private static final int THREAD_COUNT = 100;
+
+    @Autowired
+    private CounselingReservationService counselingReservationService;
+
+    @Autowired
+    private CounselingRepository counselingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DrawingListRepository drawingListRepository;
+
+    private User counselor;
+    private List<String> studentEmails;
+    private ReservationMode originalMode;
+
+    @BeforeEach
+    void setUp() {
+        originalMode = (ReservationMode) ReflectionTestUtils.getField(target(), "reservationMode");
+        counselor = userRepository.findByEmail(COUNSELOR_EMAIL)
+                .orElseGet(() -> userRepository.save(user(COUNSELOR_EMAIL, "상담사", "concurrency-counselor", Role.COUNSELOR)));
+
+        // 100명의 테스트용 학생 계정 생성 (예약하려면 그림이 있어야 한다)
+        studentEmails = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            String email = "concurrency-student" + i + "@naver.com";
+            studentEmails.add(email);
+            if (!userRepository.existsByEmail(email)) {
+                User student = userRepository.save(user(email, "학생" + i, "concurrency-student" + i, Role.USER));
+                drawingListRepository.save(DrawingList.builder()
+                        .user(student)
+                        .drawings(new ArrayList<>())
+                        .build());
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(target(), "reservationMode", originalMode);
+    }
+
+    @ParameterizedTest
+    @EnumSource(ReservationMode.class)
+    void 동시에_100명이_같은상담사를_같은시간에_예약하면_1명만_성공해야한다(ReservationMode mode) throws InterruptedException {
+        ReflectionTestUtils.setField(target(), "reservationMode", mode);
+        // 방식마다, 다시 돌릴 때마다 다른 시간 (Redis 선점 키 / 예약이 남아 있어도 겹치지 않도록)
+        LocalDateTime reserveTime = LocalDateTime.now().plusYears(1).withSecond(0).withNano(0)
+                .plusDays(ThreadLocalRandom.current().nextInt(3650))
+                .plusHours(mode.ordinal());
+        CounselingReserveRequestDto dto = CounselingReserveRequestDto.builder()
+                .counselorId(counselor.getId())
+                .time(reserveTime)
+                .types("심리")
+                .build();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch ready = new CountDownLatch(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Attempt>> results = new ArrayList<>();
+        for (String email : studentEmails) {
+            results.add(executorService.submit(() -> {
+                ready.countDown();
+                start.await();
+                long started = System.nanoTime();
+                String message;
+                try {
+                    message = counselingReservationService.reserve(email, dto);
+                } catch (Exception e) {
+                    message = "예약 실패: " + e.getMessage();
+                }
+                return new Attempt(message, System.nanoTime() - started);
+            }));
+        }
+        ready.await();
+        long started = System.nanoTime();
+        start.countDown();
+        executorService.shutdown();
+        assertThat(executorService.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        long wallClockNanos = System.nanoTime() - started;
+
+        List<Attempt> attempts = results.stream()
+                .map(future -> {
+                    try {
+                        return future.get();
+                    } catch (Exception e) {
+                        return new Attempt(e.toString(), 0L);
+                    }
+                })
+                .toList();
+        report(mode, wallClockNanos, attempts);
+
+        long successCount = attempts.stream()
+                .filter(attempt -> attempt.message().contains("예약 되었습니다"))
+                .count();
+
+        assertThat(successCount).as("mode = %s", mode).isEqualTo(1);
+        assertThat(counselingRepository.countByCounselorAndCounselingTime(counselor, reserveTime)).as("mode = %s", mode).isEqualTo(1);
+    }
+
+    private static void report(ReservationMode mode, long wallClockNanos, List<Attempt> attempts) {
+        long[] latencies = attempts.stream().mapToLong(Attempt::nanos).sorted().toArray();
+        System.out.printf("[CounselingServiceConcurrencyTest] mode = %s, requests = %d, wall-clock = %.1fms, "
+                        + "latency p50 = %.1fms, p95 = %.1fms, p99 = %.1fms, max = %.1fms%n",
+                mode, latencies.length, millis(wallClockNanos),
+                millis(percentile(latencies, 50)), millis(percentile(latencies, 95)),
+                millis(percentile(latencies, 99)), millis(latencies[latencies.length - 1]));
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private CounselingReservationService target() {
+        return AopTestUtils.getTargetObject(counselingReservationService);
+    }
+
+    private record Attempt(String message, long nanos) {
+    }
+
+    private static User user(String email, String name, String nickname, Role role) {
+        return User.builder()
+                .email(email)
+                .password("test1234")
+                .birthday("1995-07-22")
+                .name(name)
+                .nickname(nickname)
+                .phone("010-1234-1234")
+                .gender(Gender.MALE)
+                .roles(Collections.singletonList(role))
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.tetonam;
+
+import com.example.tetonam.exception.handler.TokenHandler;
+import com.example.tetonam.response.code.status.ErrorStatus;
+import com.example.tetonam.user.token.JwtTokenProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JwtTokenProvider 의 검증 결과 캐시가 만료 / 위조 토큰을 통과시키지 않는지 확인한다.
+ */
+class JwtTokenProviderCacheTest {
+    private static final String SECRET = "dGVzdC1qd3Qtc2VjcmV0LXRoaXMtaXMtbG9uZy1lbm91Z2g=";
+
+    // 캐시 ttl(300초)이 토큰 만료보다 길어도 exp 에서 캐시가 끝나야 한다
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(SECRET, 100, 300);
+
+    @Test
+    void 캐시된_토큰도_exp_가_지나면_만료로_거절된다() throws InterruptedException {
+        String token = token("student@naver.com", new Date(System.currentTimeMillis() + 1500));
+
+        Claims claims = jwtTokenProvider.verifyClaims(token);
+        assertThat(jwtTokenProvider.verifyClaims(token)).isSameAs(claims);
+
+        // exp 는 초 단위로 잘려 들어가므로 실제 만료 시각 기준으로 기다린다
+        Thread.sleep(Math.max(0L, claims.getExpiration().getTime() - System.currentTimeMillis()) + 200);
+
+        assertThatThrownBy(() -> jwtTokenProvider.verifyClaims(token))
+                .isInstanceOf(TokenHandler.class)
+                .extracting("code")
+                .isEqualTo(ErrorStatus.ACCESS_TOKEN_EXPIRED);
+    }
+
+    @Test
+    void 위조된_토큰은_캐시에_들어가지_않고_매번_거절된다() {
+        String token = token("student@naver.com", new Date(System.currentTimeMillis() + 60_000));
+        jwtTokenProvider.verifyClaims(token);
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = token("admin@naver.com", new Date(System.currentTimeMillis() + 60_000)).split("\\.")[1];
+        String tamperedPayload = parts[0] + "." + forgedPayload + "." + parts[2];
+        char last = parts[2].charAt(parts[2].length() - 2);
+        String tamperedSignature = parts[0] + "." + parts[1] + "."
+                + parts[2].substring(0, parts[2].length() - 2) + (last == 'A' ? 'B' : 'A') + parts[2].charAt(parts[2].length() - 1);
+
+        for (int i = 0; i < 2; i++) {
+            for (String tampered : new String[]{tamperedPayload, tamperedSignature}) {
+                assertThatThrownBy(() -> jwtTokenProvider.verifyClaims(tampered))
+                        .isInstanceOf(TokenHandler.class)
+                        .extracting("code")
+                        .isEqualTo(ErrorStatus.ACCESS_TOKEN_INVALID);
+            }
+        }
+        assertThat(verifiedTokens().estimatedSize()).isEqualTo(1);
+        assertThat(jwtTokenProvider.verifyClaims(token).getSubject()).isEqualTo("student@naver.com");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, Claims> verifiedTokens() {
+        Cache<String, Claims> cache = (Cache<String, Claims>) ReflectionTestUtils.getField(jwtTokenProvider, "verifiedTokens");
+        cache.cleanUp();
+        return cache;
+    }
+
+    private static String token(String email, Date expiration) {
+        return Jwts.builder()
+                .setSubject(email)
+                .claim("auth", "ROLE_USER")
+                .setExpiration(expiration)
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.tetonam;
+
+import com.example.tetonam.image.domain.enums.AiJobType;
+import com.example.tetonam.image.service.AiInferenceDispatcher;
+import com.example.tetonam.image.service.AiJobService;
+import com.example.tetonam.image.service.AiJobTask;
+import com.example.tetonam.image.service.AiJobWorker;
+import com.example.tetonam.image.service.RagAnswerCache;
+import com.example.tetonam.image.service.enums.DrawingCategory;
+import com.example.tetonam.util.WebClientUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * WebClient 응답 뒤의 저장 콜백이 persistenceScheduler 에서 도는지 확인한다.
+ * ./gradlew test -PblockHound 로 돌리면 BlockHound 가 설치되어, 콜백이 non-blocking 스레드에 남아 있을 때
+ * 블로킹 호출이 BlockingOperationError 로 실패한다.
+ */
+class PersistenceSchedulerBlockHoundTest {
+    private final Scheduler persistenceScheduler = Schedulers.newBoundedElastic(2, 10, "persistence");
+    private final AiInferenceDispatcher aiInferenceDispatcher =
+            new AiInferenceDispatcher(new SimpleMeterRegistry(), 2, 10, 5000, 0, 10, 5, 1000);
+    private final AiJobService aiJobService = mock(AiJobService.class);
+
+    @AfterEach
+    void tearDown() {
+        aiInferenceDispatcher.shutdown();
+        persistenceScheduler.dispose();
+    }
+
+    @Test
+    void AI_응답_뒤_결과_저장은_persistence_스레드에서_블로킹_없이_실패하지_않는다() throws InterruptedException {
+        // netty event loop 대신 BlockHound 가 non-blocking 으로 보는 parallel 스레드에서 응답을 내보내는 WebClient
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                                .body("[]")
+                                .build())
+                        .delayElement(Duration.ofMillis(10)))
+                .build();
+        AiJobWorker aiJobWorker = new AiJobWorker(aiJobService, aiInferenceDispatcher, new WebClientUtil(webClient),
+                new ObjectMapper(), mock(RagAnswerCache.class), persistenceScheduler);
+        ReflectionTestUtils.setField(aiJobWorker, "AI_SERVER_URL", "http://ai-server");
+        ReflectionTestUtils.setField(aiJobWorker, "workers", 1);
+
+        AiJobTask task = new AiJobTask(1L, "claim-token", AiJobType.PREDICT, 1, 1L, 1L, DrawingCategory.HOME,
+                "http://image/1.jpg", "http://image/1.jpg", null);
+        CountDownLatch saved = new CountDownLatch(1);
+        AtomicReference<String> savedOn = new AtomicReference<>();
+        when(aiJobService.claim(1)).thenReturn(List.of(task));
+        when(aiJobService.complete(eq(task), anyString())).thenAnswer(invocation -> {
+            // JPA 저장 대신 블로킹 호출
+            Thread.sleep(1);
+            savedOn.set(Thread.currentThread().getName());
+            saved.countDown();
+            return true;
+        });
+
+        aiJobWorker.poll();
+
+        assertThat(saved.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(savedOn.get()).startsWith("persistence");
+        verify(aiJobService, never()).fail(any(), any());
+    }
+
+    // BlockHound 가 실제로 설치되었는지 (설치되지 않았으면 위 테스트가 아무것도 잡지 못한다)
+    @Test
+    @EnabledIfSystemProperty(named = "blockhound", matches = "true")
+    void BlockHound_가_켜져_있으면_non_blocking_스레드의_블로킹_호출은_실패한다() {
+        Mono<Integer> blocking = Mono.fromCallable(() -> {
+            Thread.sleep(1);
+            return 1;
+        }).subscribeOn(Schedulers.parallel());
+
+        assertThatThrownBy(blocking::block)
+                .satisfies(e -> assertThat(Exceptions.unwrap(e).getClass().getName())
+                        .isEqualTo("reactor.blockhound.BlockingOperationError"));
+    }
+}